@@ -0,0 +1,16 @@
+package com.mindhub.todolist.config;
+
+import org.springframework.security.core.Authentication;
+
+// Implemented by every principal the JWT filter can install, so callers can read the user id without a lookup
+public interface AuthenticatedUser {
+
+    Long getId();
+
+    static Long idOf(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser authenticatedUser) {
+            return authenticatedUser.getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,119 @@
+package com.mindhub.todolist.config;
+
+import com.mindhub.todolist.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.mindhub.todolist.config.Constans.PASSWORD_HASHING_BUSY;
+
+// Runs the wrapped encoder on a fixed pool with a bounded queue, so a login or register storm can only occupy
+// a few cores and callers beyond the queue limit are turned away immediately instead of piling up
+public class BoundedPasswordEncoder implements PasswordEncoder, MeterBinder, DisposableBean {
+
+    private static final String METRIC_PREFIX = "password.hashing";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration retryAfter;
+
+    private Timer encodeTimer;
+    private Timer matchesTimer;
+    private Counter rejections;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Duration retryAfter) {
+        this.delegate = delegate;
+        this.retryAfter = retryAfter;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        encodeTimer = Timer.builder(METRIC_PREFIX + ".duration")
+                .description("Time spent hashing a password on the hashing pool")
+                .tag("operation", "encode")
+                .publishPercentileHistogram()
+                .register(registry);
+        matchesTimer = Timer.builder(METRIC_PREFIX + ".duration")
+                .description("Time spent hashing a password on the hashing pool")
+                .tag("operation", "matches")
+                .publishPercentileHistogram()
+                .register(registry);
+        rejections = Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("Hashing requests turned away because the queue was full")
+                .register(registry);
+        // Queue depth, active threads and completed hashes come from the standard executor gauges
+        new ExecutorServiceMetrics(executor, METRIC_PREFIX, List.of()).bindTo(registry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Timer timer, Callable<T> hashing) {
+        Future<T> future;
+        try {
+            future = executor.submit(timer == null ? hashing : () -> timer.recordCallable(hashing));
+        } catch (RejectedExecutionException e) {
+            if (rejections != null) {
+                rejections.increment();
+            }
+            throw new ServiceUnavailableException(PASSWORD_HASHING_BUSY, retryAfter);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
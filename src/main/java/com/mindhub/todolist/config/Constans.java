@@ -10,4 +10,23 @@ public class Constans {
 
     public static final String USERNAME_ALREADY_EXISTS = "Someone else has already registered with that username.";
     public static final String EMAIL_ALREADY_EXISTS = "There is a user already created with that email.";
+
+    public static final String INVALID_CURSOR = "Invalid pagination cursor: ";
+    public static final String SEARCH_QUERY_REQUIRED = "Search query 'q' is required.";
+    public static final String INVALID_CHANGE_CURSOR = "Change cursor 'since' must not be negative: ";
+
+    public static final String BATCH_TOO_LARGE = "Too many operations in one batch, the maximum is: ";
+    public static final String OPERATION_REQUIRED = "Operation type is required.";
+    public static final String TASK_DATA_REQUIRED = "Task data is required.";
+    public static final String TASK_ID_REQUIRED = "Task id is required.";
+    public static final String USER_ID_REQUIRED = "User id is required.";
+
+    public static final String PASSWORD_HASHING_BUSY = "Too many sign-in requests right now, please retry shortly.";
+    public static final String INVALID_REFRESH_TOKEN = "Refresh token is invalid, expired or revoked.";
+    public static final String TOO_MANY_LOGIN_ATTEMPTS = "Too many failed login attempts, please retry later.";
+
+    public static final String INVALID_MERGE_PATCH = "Invalid merge patch: ";
+    public static final String VERSION_MISMATCH = "If-Match does not match the current version, which is: ";
+    public static final String ETAG_MISMATCH = "If-Match does not name a version of this resource: ";
+    public static final String CONCURRENT_MODIFICATION = "The resource was modified by another request, reload it and retry.";
 }
@@ -0,0 +1,33 @@
+package com.mindhub.todolist.config;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+import java.util.function.ToLongFunction;
+
+// Caffeine expiry for entries that must go once a wall-clock deadline passes, such as the exp of the token behind them.
+// Reads never extend an entry.
+class ExpireAt<K, V> implements Expiry<K, V> {
+
+    private final ToLongFunction<V> deadlineMillis;
+
+    ExpireAt(ToLongFunction<V> deadlineMillis) {
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    @Override
+    public long expireAfterCreate(K key, V value, long currentTime) {
+        long remainingMillis = deadlineMillis.applyAsLong(value) - System.currentTimeMillis();
+        return Duration.ofMillis(Math.max(remainingMillis, 0)).toNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(K key, V value, long currentTime, long currentDuration) {
+        return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(K key, V value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+}
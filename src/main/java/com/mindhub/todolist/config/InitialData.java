@@ -1,15 +1,15 @@
 package com.mindhub.todolist.config;
 
+import com.mindhub.todolist.entity.Role;
 import com.mindhub.todolist.entity.UserEntity;
 import com.mindhub.todolist.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
-import java.util.Collections;
+import java.util.EnumSet;
 
 @Configuration
 public class InitialData {
@@ -24,12 +24,17 @@ public class InitialData {
     @Bean
     public CommandLineRunner initData(UserRepository userRepository) {
         return args -> {
+            // The schema now survives restarts, so only seed the admin once
+            if (userRepository.existsByUsername("David")) {
+                return;
+            }
+
             UserEntity adminUser = new UserEntity();
 
             adminUser.setUsername("David");
             adminUser.setEmail("david@email.com");
             adminUser.setPassword(passwordEncoder.encode("123456"));
-            adminUser.setAuthorities(Collections.singleton(new SimpleGrantedAuthority("ROLE_ADMIN")));
+            adminUser.setRoles(EnumSet.of(Role.ADMIN));
 
             userRepository.save(adminUser);
         };
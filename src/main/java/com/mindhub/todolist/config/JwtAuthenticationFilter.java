@@ -1,11 +1,15 @@
 package com.mindhub.todolist.config;
 
 import com.mindhub.todolist.service.CustomUserDetailsService;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,6 +19,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -25,6 +30,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${jwt.stateless-claims:false}")
+    private boolean statelessClaims;
+
+    private Timer tokenVerifyTimer;
+    private Timer userLoadTimer;
+
+    @Override
+    protected void initFilterBean() {
+        tokenVerifyTimer = Timer.builder("auth.token.verify")
+                .description("Time spent verifying the bearer token")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        userLoadTimer = Timer.builder("auth.user.load")
+                .description("Time spent loading the principal on a principal cache miss")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -40,10 +69,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String jwt = getJwtFromRequest(request);
 
-        if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-            String username = tokenProvider.getUsernameFromJWT(jwt);
+        Optional<Claims> claims = StringUtils.hasText(jwt)
+                ? tokenVerifyTimer.record(() -> tokenProvider.verify(jwt))
+                : Optional.empty();
 
-            UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
+        if (claims.isPresent()) {
+            UserDetails userDetails = resolvePrincipal(claims.get());
             UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 
@@ -55,6 +86,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails resolvePrincipal(Claims claims) {
+        if (statelessClaims) {
+            Optional<JwtPrincipal> principal = tokenProvider.toPrincipal(claims);
+            if (principal.isPresent()) {
+                return principal.get();
+            }
+        }
+
+        return principalCache.get(claims.getSubject(), claims.getExpiration(),
+                username -> userLoadTimer.record(() -> customUserDetailsService.loadUserByUsername(username)));
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -0,0 +1,47 @@
+package com.mindhub.todolist.config;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Set;
+
+// Immutable principal of a token-authenticated request: rebuilt from verified claims in stateless claims mode,
+// otherwise copied from the loaded user so the cache never shares entities, password hashes or lazy collections
+public final class JwtPrincipal implements UserDetails, AuthenticatedUser {
+
+    private final Long id;
+    private final String username;
+    private final Set<GrantedAuthority> authorities;
+
+    public JwtPrincipal(Long id, String username, Collection<? extends GrantedAuthority> authorities) {
+        this.id = id;
+        this.username = username;
+        this.authorities = Set.copyOf(authorities);
+    }
+
+    public static JwtPrincipal of(UserDetails userDetails) {
+        Long id = userDetails instanceof AuthenticatedUser authenticatedUser ? authenticatedUser.getId() : null;
+        return new JwtPrincipal(id, userDetails.getUsername(), userDetails.getAuthorities());
+    }
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+}
@@ -1,27 +1,59 @@
 package com.mindhub.todolist.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mindhub.todolist.entity.Role;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
 
 // JWT Utility Class
 @Component
-public class JwtTokenProvider {
+public class JwtTokenProvider implements MeterBinder {
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLES_CLAIM = "roles";
+
     private final SecretKey secretKey;
+    private final JwtParser jwtParser;
+
+    // Verified claims keyed by token digest, kept until the token's own expiration
+    private final Cache<String, Claims> verifiedClaims;
 
     @Value("${jwt.expiration}")
     private long expiration;
 
-    public JwtTokenProvider(@Value("${jwt.secret}") String secret) {
+    public JwtTokenProvider(@Value("${jwt.secret}") String secret,
+                            @Value("${jwt.claims-cache.max-size:10000}") long claimsCacheSize) {
         this.secretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+        this.verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(claimsCacheSize)
+                .expireAfter(new ExpireAt<String, Claims>(claims -> claims.getExpiration().getTime()))
+                .recordStats()
+                .build();
     }
 
     public String generateToken(Authentication authentication) {
@@ -29,36 +61,91 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
+        List<String> roles = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+
         return Jwts.builder()
                 .subject(userDetails.getUsername())
-                .claim("authorities", userDetails.getAuthorities())
+                .claim(USER_ID_CLAIM, userId(userDetails))
+                .claim(ROLES_CLAIM, roles)
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(secretKey)
                 .compact();
     }
 
-    public String getUsernameFromJWT(String token) {
-        return parseClaims(token).getSubject();
+    // Verifies the signature and expiration once and returns the claims, or empty if the token is not valid
+    public Optional<Claims> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        String digest = digest(token);
+        Claims cached = verifiedClaims.getIfPresent(digest);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        try {
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            if (claims.getExpiration() != null) {
+                verifiedClaims.put(digest, claims);
+            }
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
     }
 
-    private Claims parseClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public String getUsernameFromJWT(String token) {
+        return verify(token)
+                .map(Claims::getSubject)
+                .orElseThrow(() -> new JwtException("Invalid JWT token"));
     }
 
     public boolean validateToken(String authToken) {
+        return verify(authToken).isPresent();
+    }
+
+    // Builds the principal straight from verified claims, or empty for tokens issued without id and roles
+    public Optional<JwtPrincipal> toPrincipal(Claims claims) {
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        if (userId == null || roles == null || claims.getSubject() == null) {
+            return Optional.empty();
+        }
+
+        int mask = 0;
+        for (Object role : roles) {
+            mask |= Role.fromAuthority(role.toString()).map(Role::getBit).orElse(0);
+        }
+        return Optional.of(new JwtPrincipal(userId.longValue(), claims.getSubject(), Role.authoritiesOf(mask)));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, verifiedClaims, "jwt.claims");
+    }
+
+    public CacheStats claimsCacheStats() {
+        return verifiedClaims.stats();
+    }
+
+    private static Long userId(UserDetails userDetails) {
+        if (userDetails instanceof AuthenticatedUser authenticatedUser) {
+            return authenticatedUser.getId();
+        }
+        return null;
+    }
+
+    private static String digest(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(authToken);
-            return true;
-        } catch (Exception e) {
-            return false;
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
         }
     }
+
 }
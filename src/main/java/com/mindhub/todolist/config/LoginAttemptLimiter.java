@@ -0,0 +1,168 @@
+package com.mindhub.todolist.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.mindhub.todolist.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.mindhub.todolist.config.Constans.TOO_MANY_LOGIN_ATTEMPTS;
+
+// Counts failed logins per username and per client address with a sliding-window counter. Once a key goes over
+// its limit it is blocked, and every further breach doubles the block up to the configured maximum.
+// Windows are updated with compare-and-set on immutable snapshots, and the Caffeine map they live in is
+// striped internally and evicts idle keys, so memory stays bounded.
+@Component
+public class LoginAttemptLimiter implements MeterBinder {
+
+    private static final String USER_PREFIX = "user:";
+    private static final String ADDRESS_PREFIX = "address:";
+
+    private final Cache<String, AtomicReference<AttemptWindow>> windows;
+    private final Ticker ticker;
+    private final long windowNanos;
+    private final int maxFailuresPerUser;
+    private final int maxFailuresPerAddress;
+    private final long baseBackoffNanos;
+    private final long maxBackoffNanos;
+
+    private Counter rejections;
+
+    @Autowired
+    public LoginAttemptLimiter(@Value("${login-throttle.window:PT5M}") Duration window,
+                               @Value("${login-throttle.max-failures-per-user:5}") int maxFailuresPerUser,
+                               @Value("${login-throttle.max-failures-per-address:50}") int maxFailuresPerAddress,
+                               @Value("${login-throttle.base-backoff:PT30S}") Duration baseBackoff,
+                               @Value("${login-throttle.max-backoff:PT15M}") Duration maxBackoff,
+                               @Value("${login-throttle.max-entries:100000}") long maxEntries) {
+        this(window, maxFailuresPerUser, maxFailuresPerAddress, baseBackoff, maxBackoff, maxEntries, Ticker.systemTicker());
+    }
+
+    LoginAttemptLimiter(Duration window, int maxFailuresPerUser, int maxFailuresPerAddress,
+                        Duration baseBackoff, Duration maxBackoff, long maxEntries, Ticker ticker) {
+        this.ticker = ticker;
+        this.windowNanos = window.toNanos();
+        this.maxFailuresPerUser = maxFailuresPerUser;
+        this.maxFailuresPerAddress = maxFailuresPerAddress;
+        this.baseBackoffNanos = baseBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+        // A key idle for two windows has nothing left to count, and any block on it has run out
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(Math.max(2 * windowNanos, maxBackoffNanos), TimeUnit.NANOSECONDS)
+                .ticker(ticker)
+                .build();
+    }
+
+    // Throws before any password is checked when the username or the address is currently blocked
+    public void checkAllowed(String username, String address) {
+        long now = ticker.read();
+        long waitNanos = Math.max(remainingBlock(userKey(username), now), remainingBlock(addressKey(address), now));
+        if (waitNanos > 0) {
+            if (rejections != null) {
+                rejections.increment();
+            }
+            throw new TooManyRequestsException(TOO_MANY_LOGIN_ATTEMPTS, Duration.ofNanos(waitNanos));
+        }
+    }
+
+    public void recordFailure(String username, String address) {
+        long now = ticker.read();
+        recordFailure(userKey(username), maxFailuresPerUser, now);
+        recordFailure(addressKey(address), maxFailuresPerAddress, now);
+    }
+
+    // A successful login clears the username's history; the address keeps counting, since it may be shared
+    public void recordSuccess(String username) {
+        String key = userKey(username);
+        if (key != null) {
+            windows.invalidate(key);
+        }
+    }
+
+    public long size() {
+        windows.cleanUp();
+        return windows.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        rejections = Counter.builder("auth.login.throttled")
+                .description("Login attempts rejected before authentication because of earlier failures")
+                .register(registry);
+        CaffeineCacheMetrics.monitor(registry, windows, "login.attempts");
+    }
+
+    private long remainingBlock(String key, long now) {
+        if (key == null) {
+            return 0;
+        }
+        AtomicReference<AttemptWindow> window = windows.getIfPresent(key);
+        return window == null ? 0 : Math.max(window.get().blockedUntil() - now, 0);
+    }
+
+    private void recordFailure(String key, int maxFailures, long now) {
+        if (key == null) {
+            return;
+        }
+        windows.get(key, k -> new AtomicReference<>(AttemptWindow.empty(now)))
+                .updateAndGet(window -> window.fail(now, windowNanos, maxFailures, baseBackoffNanos, maxBackoffNanos));
+    }
+
+    private static String userKey(String username) {
+        return username == null ? null : USER_PREFIX + username.toLowerCase(Locale.ROOT);
+    }
+
+    private static String addressKey(String address) {
+        return address == null ? null : ADDRESS_PREFIX + address;
+    }
+
+    // Immutable snapshot of one key: failures in the current and previous fixed windows, how many times the key
+    // has been blocked, and until when
+    record AttemptWindow(long windowStart, int previous, int current, int strikes, long blockedUntil) {
+
+        static AttemptWindow empty(long now) {
+            return new AttemptWindow(now, 0, 0, 0, now);
+        }
+
+        AttemptWindow fail(long now, long windowNanos, int maxFailures, long baseBackoffNanos, long maxBackoffNanos) {
+            AttemptWindow rolled = roll(now, windowNanos);
+            int current = rolled.current + 1;
+
+            // Sliding estimate: the previous window counts in proportion to how much of it still overlaps
+            double overlap = 1.0 - (double) (now - rolled.windowStart) / windowNanos;
+            double failures = rolled.previous * overlap + current;
+            if (failures < maxFailures) {
+                return new AttemptWindow(rolled.windowStart, rolled.previous, current, rolled.strikes, rolled.blockedUntil);
+            }
+
+            int strikes = rolled.strikes + 1;
+            long backoff = baseBackoffNanos << Math.min(strikes - 1, 30);
+            if (backoff <= 0 || backoff > maxBackoffNanos) {
+                backoff = maxBackoffNanos;
+            }
+            return new AttemptWindow(rolled.windowStart, rolled.previous, current, strikes, now + backoff);
+        }
+
+        private AttemptWindow roll(long now, long windowNanos) {
+            long elapsed = now - windowStart;
+            if (elapsed < windowNanos) {
+                return this;
+            }
+            long start = now - (elapsed % windowNanos);
+            int previous = elapsed < 2 * windowNanos ? current : 0;
+            return new AttemptWindow(start, previous, 0, strikes, blockedUntil);
+        }
+    }
+}
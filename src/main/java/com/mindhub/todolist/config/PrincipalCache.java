@@ -0,0 +1,99 @@
+package com.mindhub.todolist.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// Keeps recently authenticated principals in memory so the JWT filter does not hit the users table on every request.
+// Only an immutable copy of id, username and authorities is kept, never the loaded entity.
+@Component
+public class PrincipalCache implements MeterBinder {
+
+    private final Cache<String, CachedPrincipal> cache;
+    private final long ttlMillis;
+
+    // Bumped by every eviction, so a load that overlapped one can tell its result may predate the change
+    private final AtomicLong generation = new AtomicLong();
+
+    public PrincipalCache(@Value("${jwt.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${jwt.principal-cache.ttl:PT5M}") Duration ttl) {
+        this.ttlMillis = ttl.toMillis();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ExpireAt<String, CachedPrincipal>(CachedPrincipal::expiresAtMillis))
+                .recordStats()
+                .build();
+    }
+
+    // Loads outside the cache's compute lock: the loader does JDBC, and blocking inside that lock pins virtual threads.
+    // Concurrent misses for the same user may load twice, which is cheaper than serializing them.
+    // The entry is put first and taken back if an eviction ran since the load began; checking before the put would
+    // leave a gap in which an eviction could slip between the check and the put and the old principal would stick.
+    public JwtPrincipal get(String username, Date tokenExpiration, Function<String, UserDetails> loader) {
+        CachedPrincipal cached = cache.getIfPresent(username);
+        if (cached != null) {
+            return cached.principal();
+        }
+
+        long loadedAt = generation.get();
+        JwtPrincipal principal = JwtPrincipal.of(loader.apply(username));
+        CachedPrincipal loaded = new CachedPrincipal(principal, expiresAt(tokenExpiration));
+        cache.put(username, loaded);
+        if (generation.get() != loadedAt) {
+            cache.asMap().remove(username, loaded);
+        }
+        return principal;
+    }
+
+    // Evictions are rare (user updates and deletes), so one shared generation is enough; an unrelated eviction at
+    // most costs a concurrent load its cache entry
+    public void evict(String username) {
+        if (username != null) {
+            generation.incrementAndGet();
+            cache.invalidate(username);
+        }
+    }
+
+    public void evictById(Long userId) {
+        generation.incrementAndGet();
+        cache.asMap().values().removeIf(cached -> userId.equals(cached.principal().getId()));
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "principal");
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    // Entries never outlive the configured TTL nor the token that caused them to be loaded
+    private long expiresAt(Date tokenExpiration) {
+        long ttlDeadline = System.currentTimeMillis() + ttlMillis;
+        return tokenExpiration == null ? ttlDeadline : Math.min(ttlDeadline, tokenExpiration.getTime());
+    }
+
+    private record CachedPrincipal(JwtPrincipal principal, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,97 @@
+package com.mindhub.todolist.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Sends read-only transactions of signed-in users to the replica and everything else to the primary.
+// A user whose write committed stays on the primary for the stickiness window, so replication lag never hides their
+// own writes from them. Work without a user (startup loads, login, scheduled jobs) always reads the primary.
+// Must sit behind a LazyConnectionDataSourceProxy: the route is picked when the connection is first used, which is
+// only after the transaction manager has marked the transaction read-only.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements MeterBinder {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    // Only presence matters; entries expire on their own once the window has passed
+    private final Cache<Long, Boolean> pinned;
+    private final Map<Route, Counter> routed = new EnumMap<>(Route.class);
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration stickiness) {
+        this.pinned = Caffeine.newBuilder()
+                .expireAfterWrite(stickiness)
+                .build();
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    public Route currentRoute() {
+        Long userId = AuthenticatedUser.idOf(SecurityContextHolder.getContext().getAuthentication());
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new PinOnCommit(userId));
+            }
+            return Route.PRIMARY;
+        }
+        return userId == null || isPinned(userId) ? Route.PRIMARY : Route.REPLICA;
+    }
+
+    // The window starts at commit, which is when the replica begins to lag behind the write
+    public void pin(Long userId) {
+        pinned.put(userId, Boolean.TRUE);
+    }
+
+    public boolean isPinned(Long userId) {
+        return pinned.getIfPresent(userId) != null;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Route route = currentRoute();
+        Counter counter = routed.get(route);
+        if (counter != null) {
+            counter.increment();
+        }
+        return route;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Route route : Route.values()) {
+            routed.put(route, Counter.builder("db.connections.routed")
+                    .description("Connections handed out by the read replica router, by target pool")
+                    .tag("target", route.name().toLowerCase(Locale.ROOT))
+                    .register(registry));
+        }
+    }
+
+    private final class PinOnCommit implements TransactionSynchronization {
+
+        private final Long userId;
+
+        private PinOnCommit(Long userId) {
+            this.userId = userId;
+        }
+
+        @Override
+        public void afterCommit() {
+            pin(userId);
+        }
+    }
+}
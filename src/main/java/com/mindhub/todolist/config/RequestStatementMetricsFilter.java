@@ -0,0 +1,53 @@
+package com.mindhub.todolist.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Records how many SQL statements each request issued, tagged by the matched route.
+// Ordered ahead of the security chain so the user lookup done by the JWT filter is counted too.
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+public class RequestStatementMetricsFilter extends OncePerRequestFilter {
+
+    private final StatementCountingInspector statementCountingInspector;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public RequestStatementMetricsFilter(StatementCountingInspector statementCountingInspector, MeterRegistry meterRegistry) {
+        this.statementCountingInspector = statementCountingInspector;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        statementCountingInspector.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = statementCountingInspector.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+            DistributionSummary.builder("hibernate.request.statements")
+                    .description("SQL statements prepared while handling a request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(statements);
+        }
+    }
+}
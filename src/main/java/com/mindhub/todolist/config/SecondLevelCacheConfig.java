@@ -0,0 +1,55 @@
+package com.mindhub.todolist.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.mindhub.todolist.entity.UserEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+// Caffeine-backed JCache regions for Hibernate's second-level cache
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final List<String> REGIONS = List.of(
+            UserEntity.CACHE_REGION,
+            UserEntity.USERNAME_CACHE_REGION);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(@Value("${users.cache.max-size:10000}") long maxSize,
+                                                @Value("${users.cache.ttl:PT10M}") Duration ttl) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+
+        for (String region : REGIONS) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(ttl.toMillis())));
+            // Hibernate caches immutable disassembled state, so entries don't need to be copied on every read
+            configuration.setStoreByValue(false);
+            configuration.setStatisticsEnabled(true);
+            if (cacheManager.getCache(region) == null) {
+                cacheManager.createCache(region, configuration);
+            }
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.cache_manager", secondLevelCacheManager);
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+            properties.put("hibernate.cache.use_second_level_cache", true);
+        };
+    }
+}
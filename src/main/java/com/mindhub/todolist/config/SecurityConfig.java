@@ -1,5 +1,7 @@
 package com.mindhub.todolist.config;
 
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -9,19 +11,23 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 @EnableGlobalMethodSecurity(prePostEnabled = true)
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final int managementPort;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
+                          @Value("${management.server.port:-1}") int managementPort) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.managementPort = managementPort;
     }
 
     @Bean
@@ -30,8 +36,14 @@ public class SecurityConfig {
                 .csrf(httpSecurityCsrfConfigurer -> httpSecurityCsrfConfigurer.disable())
                 .authorizeHttpRequests(authorizeRequests ->
                         authorizeRequests
+                                // The request that started an SSE stream was already authorized; its async dispatch carries no token
+                                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                                 .requestMatchers("/auth/**", "/public/**", "/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html", "/h2-console/**").permitAll()
-                                .requestMatchers("/admin/**").hasRole("ADMIN")
+                                .requestMatchers("/actuator/health/**").permitAll()
+                                // Scrapers reach the actuator on its own port, which is kept off the public network
+                                .requestMatchers(request -> request.getLocalPort() == managementPort
+                                        && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
+                                .requestMatchers("/admin/**", "/actuator/**").hasRole("ADMIN")
                                 .anyRequest().authenticated()
                 )
                 .sessionManagement(sessionManagement ->
@@ -49,7 +61,10 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${password-hashing.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int threads,
+            @Value("${password-hashing.queue-capacity:100}") int queueCapacity,
+            @Value("${password-hashing.retry-after:PT1S}") Duration retryAfter) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), threads, queueCapacity, retryAfter);
     }
 }
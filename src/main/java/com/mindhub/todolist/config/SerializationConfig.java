@@ -0,0 +1,55 @@
+package com.mindhub.todolist.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+// Response encodings beyond JSON. Clients opt in with Accept: application/cbor or application/x-jackson-smile;
+// JSON stays the default for everything else.
+@Configuration
+public class SerializationConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilders;
+
+    public SerializationConfig(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilders) {
+        this.objectMapperBuilders = objectMapperBuilders;
+    }
+
+    // Replaces reflective getter calls with generated lambdas; Spring Boot registers Module beans on every mapper it builds
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    // Spring MVC already lists CBOR and Smile converters after JSON once the formats are on the classpath, so a plain
+    // Accept: */* keeps getting JSON. They are swapped for ones built from the application's Jackson settings;
+    // the builder is a prototype, so each binary mapper gets its own copy.
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        replace(converters, MappingJackson2CborHttpMessageConverter.class, new MappingJackson2CborHttpMessageConverter(
+                objectMapperBuilders.getObject().factory(new CBORFactory()).build()));
+        replace(converters, MappingJackson2SmileHttpMessageConverter.class, new MappingJackson2SmileHttpMessageConverter(
+                objectMapperBuilders.getObject().factory(new SmileFactory()).build()));
+    }
+
+    private static void replace(List<HttpMessageConverter<?>> converters, Class<?> type, HttpMessageConverter<?> converter) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (type.isInstance(converters.get(i))) {
+                converters.set(i, converter);
+                return;
+            }
+        }
+        converters.add(converter);
+    }
+}
@@ -0,0 +1,39 @@
+package com.mindhub.todolist.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// Counts the SQL statements Hibernate prepares on the current thread while a request is being measured
+@Component
+public class StatementCountingInspector implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<int[]> STATEMENTS = new ThreadLocal<>();
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] counter = STATEMENTS.get();
+        if (counter != null) {
+            counter[0]++;
+        }
+        return sql;
+    }
+
+    public void start() {
+        STATEMENTS.set(new int[1]);
+    }
+
+    public int stop() {
+        int[] counter = STATEMENTS.get();
+        STATEMENTS.remove();
+        return counter == null ? 0 : counter[0];
+    }
+}
@@ -1,5 +1,6 @@
 package com.mindhub.todolist.controller;
 
+import com.mindhub.todolist.dto.TaskPageResponseDTO;
 import com.mindhub.todolist.dto.TaskRequestDTO;
 import com.mindhub.todolist.dto.TaskResponseDTO;
 import com.mindhub.todolist.dto.UserRequestDTO;
@@ -14,6 +15,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -22,7 +24,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -87,6 +91,18 @@ public class AdminController {
         return new ResponseEntity<>(userRequestDTOS, HttpStatus.OK);
     }
 
+    @GetMapping(value = "/users/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export Users", description = "Streams every user as newline-delimited JSON.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users successfully streamed.",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = UserResponseDTO.class)))
+    })
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        StreamingResponseBody body = userService::exportUsers;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @PutMapping("/users/{id}")
     @Operation(summary = "Update User", description = "Updates an existing user.")
     @ApiResponses(value = {
@@ -143,16 +159,20 @@ public class AdminController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tasks successfully returned.",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = TaskResponseDTO.class))),
+                            schema = @Schema(implementation = TaskPageResponseDTO.class))),
             @ApiResponse(responseCode = "404", description = "User or tasks not found.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(type = "string", example = "No tasks found for user.")))
     })
-    public ResponseEntity<List<TaskResponseDTO>> getTasksByUserId(
+    public ResponseEntity<TaskPageResponseDTO> getTasksByUserId(
             @PathVariable("userId")
             @Parameter(
-                    description = "ID of the user whose tasks are to be retrieved", required = true, example = "1") Long userId) {
-        List<TaskResponseDTO> tasks = taskService.getTasksByUserId(userId);
+                    description = "ID of the user whose tasks are to be retrieved", required = true, example = "1") Long userId,
+            @RequestParam(value = "cursor", required = false)
+            @Parameter(description = "Opaque cursor returned as 'next' by the previous page") String cursor,
+            @RequestParam(value = "size", required = false)
+            @Parameter(description = "Maximum number of tasks per page", example = "50") Integer size) {
+        TaskPageResponseDTO tasks = taskService.getTasksByUserId(userId, cursor, size);
         return new ResponseEntity<>(tasks, HttpStatus.OK);
     }
 
@@ -193,18 +213,37 @@ public class AdminController {
     }
 
     @GetMapping("/tasks")
-    @Operation(summary = "Get All Tasks", description = "Returns all tasks.")
+    @Operation(summary = "Get All Tasks", description = "Returns a page of tasks ordered by ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tasks successfully returned.",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = TaskResponseDTO.class)
-                    ))
+                            schema = @Schema(implementation = TaskPageResponseDTO.class)
+                    )),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "Invalid pagination cursor: abc")))
     })
-    public ResponseEntity<List<TaskResponseDTO>> getAllTasks() {
-        List<TaskResponseDTO> tasks = taskService.getAllTasks();
+    public ResponseEntity<TaskPageResponseDTO> getAllTasks(
+            @RequestParam(value = "cursor", required = false)
+            @Parameter(description = "Opaque cursor returned as 'next' by the previous page") String cursor,
+            @RequestParam(value = "size", required = false)
+            @Parameter(description = "Maximum number of tasks per page", example = "50") Integer size) {
+        TaskPageResponseDTO tasks = taskService.getAllTasks(cursor, size);
         return new ResponseEntity<>(tasks, HttpStatus.OK);
     }
 
+    @GetMapping(value = "/tasks/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export Tasks", description = "Streams every task as newline-delimited JSON.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tasks successfully streamed.",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = TaskResponseDTO.class)))
+    })
+    public ResponseEntity<StreamingResponseBody> exportTasks() {
+        StreamingResponseBody body = taskService::exportTasks;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @PutMapping("/tasks/{id}")
     @Operation(summary = "Update Task", description = "Updates an existing task.")
     @ApiResponses(value = {
@@ -1,10 +1,20 @@
 package com.mindhub.todolist.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.mindhub.todolist.config.AuthenticatedUser;
+import com.mindhub.todolist.dto.TaskChangeDTO;
+import com.mindhub.todolist.dto.TaskChangesResponseDTO;
+import com.mindhub.todolist.dto.TaskOperationDTO;
+import com.mindhub.todolist.dto.TaskOperationResultDTO;
+import com.mindhub.todolist.dto.TaskPageResponseDTO;
 import com.mindhub.todolist.dto.TaskRequestDTO;
 import com.mindhub.todolist.dto.TaskResponseDTO;
+import com.mindhub.todolist.dto.TaskSummaryDTO;
 import com.mindhub.todolist.dto.UserRequestDTO;
 import com.mindhub.todolist.dto.UserResponseDTO;
+import com.mindhub.todolist.dto.VersionedResponseDTO;
 import com.mindhub.todolist.entity.TaskStatus;
+import com.mindhub.todolist.service.TaskChangeService;
 import com.mindhub.todolist.service.TaskService;
 import com.mindhub.todolist.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -15,17 +25,24 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -36,11 +53,13 @@ public class AppController {
 
     private final UserService userService;
     private final TaskService taskService;
+    private final TaskChangeService taskChangeService;
 
     @Autowired
-    public AppController(UserService userService, TaskService taskService) {
+    public AppController(UserService userService, TaskService taskService, TaskChangeService taskChangeService) {
         this.userService = userService;
         this.taskService = taskService;
+        this.taskChangeService = taskChangeService;
     }
 
     @PostMapping
@@ -54,35 +73,147 @@ public class AppController {
                             schema = @Schema(type = "string", example = "Invalid task data.")))
     })
     public ResponseEntity<TaskResponseDTO> createTask(
+            Authentication authentication,
             @RequestBody
             @Parameter(description = "Task data for the new task", required = true) TaskRequestDTO taskRequestDTO) {
-        TaskResponseDTO createdTask = taskService.createTask(taskRequestDTO);
+        TaskResponseDTO createdTask = taskService.createTaskForUser(AuthenticatedUser.idOf(authentication), taskRequestDTO);
         return new ResponseEntity<>(createdTask, HttpStatus.CREATED);
     }
 
+    @PostMapping("/tasks/batch")
+    @Operation(summary = "Process Task Batch", description = "Creates, updates and deletes several of the authenticated user's tasks in a single transaction.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see the status of each item.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskOperationResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Too many operations.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "Too many operations in one batch, the maximum is: 1000")))
+    })
+    public ResponseEntity<List<TaskOperationResultDTO>> processTaskBatch(
+            Authentication authentication,
+            @RequestBody
+            @Parameter(description = "Operations to apply, in order", required = true) List<TaskOperationDTO> operations) {
+        List<TaskOperationResultDTO> results = taskService.processTaskBatchForUser(AuthenticatedUser.idOf(authentication), operations);
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get Task by ID", description = "Returns task information based on the provided ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Task successfully returned.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = TaskResponseDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Task not modified since the given ETag."),
             @ApiResponse(responseCode = "404", description = "Task not found.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(type = "string", example = "Task not found.")))
     })
     public ResponseEntity<TaskResponseDTO> getTaskById(
             @PathVariable("id")
-            @Parameter(description = "ID of the task to be retrieved", required = true, example = "1") Long id) {
+            @Parameter(description = "ID of the task to be retrieved", required = true, example = "1") Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+            @Parameter(description = "ETag of a previously returned representation") String ifNoneMatch) {
+        String eTag = ETags.of(id, taskService.getTaskVersion(id));
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ETags.notModified(eTag);
+        }
         TaskResponseDTO taskById = taskService.getTaskById(id);
-        return new ResponseEntity<>(taskById, HttpStatus.OK);
+        return new ResponseEntity<>(taskById, ETags.headers(eTag), HttpStatus.OK);
     }
 
     @GetMapping("/tasks")
-    public ResponseEntity<List<TaskResponseDTO>> getUserTasks(Authentication authentication) {
-        List<TaskResponseDTO> tasks = taskService.getTasksByUsername(authentication.getName());
+    public ResponseEntity<TaskPageResponseDTO> getUserTasks(
+            Authentication authentication,
+            @RequestParam(value = "cursor", required = false)
+            @Parameter(description = "Opaque cursor returned as 'next' by the previous page") String cursor,
+            @RequestParam(value = "size", required = false)
+            @Parameter(description = "Maximum number of tasks per page", example = "50") Integer size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+            @Parameter(description = "ETag of a previously returned representation") String ifNoneMatch) {
+        String eTag = ETags.of(AuthenticatedUser.idOf(authentication),
+                taskService.getTaskListVersionByUsername(authentication.getName()));
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ETags.notModified(eTag);
+        }
+        TaskPageResponseDTO tasks = taskService.getTasksByUsername(authentication.getName(), cursor, size);
+        return new ResponseEntity<>(tasks, ETags.headers(eTag), HttpStatus.OK);
+    }
+
+    @GetMapping("/tasks/search")
+    @Operation(summary = "Search Tasks", description = "Full-text search over the user's task titles and descriptions. "
+            + "Every word must match a whole word or the start of one; results are ranked, title matches first.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching tasks, best match first.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Missing query.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "Search query 'q' is required.")))
+    })
+    public ResponseEntity<List<TaskResponseDTO>> searchTasks(
+            Authentication authentication,
+            @RequestParam(value = "q", required = false)
+            @Parameter(description = "Words to look for", required = true, example = "groc list") String query,
+            @RequestParam(value = "size", required = false)
+            @Parameter(description = "Maximum number of tasks to return", example = "50") Integer size) {
+        List<TaskResponseDTO> tasks = taskService.searchTasks(AuthenticatedUser.idOf(authentication), query, size);
         return new ResponseEntity<>(tasks, HttpStatus.OK);
     }
 
+    @GetMapping("/tasks/summary")
+    @Operation(summary = "Get Task Summary", description = "Counts the user's tasks in each status, without touching the task rows.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Task counts per status and in total.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskSummaryDTO.class)))
+    })
+    public ResponseEntity<TaskSummaryDTO> getTaskSummary(Authentication authentication) {
+        TaskSummaryDTO summary = taskService.getTaskSummary(AuthenticatedUser.idOf(authentication));
+        return new ResponseEntity<>(summary, HttpStatus.OK);
+    }
+
+    @GetMapping("/tasks/changes")
+    @Operation(summary = "Get Task Changes", description = "Returns the user's task changes after the 'since' cursor, oldest first, "
+            + "so a client can catch up after reconnecting without reloading every task. Created and updated entries carry the "
+            + "task's current fields and deleted entries only its id. Pass the returned cursor as 'since' next time; when "
+            + "resyncRequired is true, reload all tasks and continue from the returned cursor.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes after the cursor and the cursor to continue from.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskChangesResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "Change cursor 'since' must not be negative: -1")))
+    })
+    public ResponseEntity<TaskChangesResponseDTO> getTaskChanges(
+            Authentication authentication,
+            @RequestParam(value = "since", required = false)
+            @Parameter(description = "Cursor returned by the previous call; omit or 0 to start from the beginning", example = "0") Long since,
+            @RequestParam(value = "size", required = false)
+            @Parameter(description = "Maximum number of changes to return", example = "50") Integer size) {
+        TaskChangesResponseDTO changes = taskChangeService.getChanges(AuthenticatedUser.idOf(authentication), since, size);
+        return new ResponseEntity<>(changes, HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/tasks/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream Task Changes", description = "Keeps the connection open and pushes an event each time one of "
+            + "the user's tasks is created, updated or deleted, instead of polling the task list. Idle connections get a "
+            + "heartbeat comment; a client that stops reading is disconnected and should reconnect and reload.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream of task changes, named created, updated or deleted.",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = TaskChangeDTO.class)))
+    })
+    public ResponseEntity<SseEmitter> streamTaskChanges(Authentication authentication) {
+        SseEmitter emitter = taskService.subscribeToTaskChanges(AuthenticatedUser.idOf(authentication));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl(CacheControl.noStore());
+        // Stops reverse proxies such as nginx from holding events back in their response buffer
+        headers.set("X-Accel-Buffering", "no");
+        return new ResponseEntity<>(emitter, headers, HttpStatus.OK);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update Task", description = "Updates an existing task.")
     @ApiResponses(value = {
@@ -102,6 +233,38 @@ public class AppController {
         return new ResponseEntity<>(updatedTask, HttpStatus.OK);
     }
 
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Patch Task", description = "Applies a JSON Merge Patch to an existing task, writing only the changed fields.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Task successfully patched.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid merge patch.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "Invalid merge patch: 'id' cannot be patched"))),
+            @ApiResponse(responseCode = "404", description = "Task not found.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "Task not found."))),
+            @ApiResponse(responseCode = "409", description = "Task changed by another request while patching.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "The resource was modified by another request, reload it and retry."))),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "If-Match does not match the current version, which is: 3")))
+    })
+    public ResponseEntity<TaskResponseDTO> patchTask(
+            @PathVariable("id")
+            @Parameter(description = "ID of the task to be patched", required = true, example = "1") Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag the patch is based on; the patch is rejected if the resource changed since") String ifMatch,
+            @RequestBody
+            @Parameter(description = "Fields to change; null clears a field", required = true) JsonNode patch,
+            Authentication authentication) {
+        VersionedResponseDTO<TaskResponseDTO> patched = taskService.patchTaskForUser(
+                AuthenticatedUser.idOf(authentication), id, ETags.expectedVersion(ifMatch, id), patch);
+        return new ResponseEntity<>(patched.getBody(), ETags.headers(ETags.of(id, patched.getVersion())), HttpStatus.OK);
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete Task", description = "Deletes an existing task.")
     @ApiResponses(value = {
@@ -135,15 +298,66 @@ public class AppController {
     }
 
     @GetMapping("/tasks/status/{status}")
-    public ResponseEntity<List<TaskResponseDTO>> getTasksByUsernameAndStatus(Authentication authentication, @PathVariable("status") TaskStatus taskStatus) {
-        List<TaskResponseDTO> tasks = taskService.getTasksByUsernameAndStatus(authentication.getName(), taskStatus);
-        return new ResponseEntity<>(tasks, HttpStatus.OK);
+    public ResponseEntity<TaskPageResponseDTO> getTasksByUsernameAndStatus(
+            Authentication authentication,
+            @PathVariable("status") TaskStatus taskStatus,
+            @RequestParam(value = "cursor", required = false)
+            @Parameter(description = "Opaque cursor returned as 'next' by the previous page") String cursor,
+            @RequestParam(value = "size", required = false)
+            @Parameter(description = "Maximum number of tasks per page", example = "50") Integer size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+            @Parameter(description = "ETag of a previously returned representation") String ifNoneMatch) {
+        String eTag = ETags.of(AuthenticatedUser.idOf(authentication),
+                taskService.getTaskListVersionByUsernameAndStatus(authentication.getName(), taskStatus));
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ETags.notModified(eTag);
+        }
+        TaskPageResponseDTO tasks = taskService.getTasksByUsernameAndStatus(authentication.getName(), taskStatus, cursor, size);
+        return new ResponseEntity<>(tasks, ETags.headers(eTag), HttpStatus.OK);
     }
 
     @GetMapping
-    public ResponseEntity<UserResponseDTO> getUser(Authentication authentication) {
+    public ResponseEntity<UserResponseDTO> getUser(
+            Authentication authentication,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+            @Parameter(description = "ETag of a previously returned representation") String ifNoneMatch) {
+        String eTag = ETags.of(AuthenticatedUser.idOf(authentication), userService.getUserVersionByUsername(authentication.getName()));
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ETags.notModified(eTag);
+        }
         UserResponseDTO userRequestDTO = userService.getUserByUsername(authentication.getName());
-        return new ResponseEntity<>(userRequestDTO, HttpStatus.OK);
+        return new ResponseEntity<>(userRequestDTO, ETags.headers(eTag), HttpStatus.OK);
+    }
+
+    @PatchMapping(consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Patch User", description = "Applies a JSON Merge Patch to an existing user, writing only the changed fields.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "User successfully patched.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = UserResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid merge patch.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "Invalid merge patch: 'id' cannot be patched"))),
+            @ApiResponse(responseCode = "404", description = "User not found.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "User not found."))),
+            @ApiResponse(responseCode = "409", description = "User changed by another request while patching.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "The resource was modified by another request, reload it and retry."))),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "If-Match does not match the current version, which is: 3")))
+    })
+    public ResponseEntity<UserResponseDTO> patchUser(
+            Authentication authentication,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag the patch is based on; the patch is rejected if the resource changed since") String ifMatch,
+            @RequestBody
+            @Parameter(description = "Fields to change", required = true) JsonNode patch) {
+        Long userId = AuthenticatedUser.idOf(authentication);
+        VersionedResponseDTO<UserResponseDTO> patched = userService.patchUser(
+                authentication.getName(), ETags.expectedVersion(ifMatch, userId), patch);
+        return new ResponseEntity<>(patched.getBody(), ETags.headers(ETags.of(userId, patched.getVersion())), HttpStatus.OK);
     }
 
     @PutMapping
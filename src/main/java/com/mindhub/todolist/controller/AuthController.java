@@ -2,6 +2,7 @@ package com.mindhub.todolist.controller;
 
 import com.mindhub.todolist.dto.JwtAuthenticationResponse;
 import com.mindhub.todolist.dto.LoginRequest;
+import com.mindhub.todolist.dto.RefreshTokenRequest;
 import com.mindhub.todolist.dto.UserRequestDTO;
 import com.mindhub.todolist.dto.UserResponseDTO;
 import com.mindhub.todolist.exception.UserEntityValidator;
@@ -15,6 +16,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -77,6 +79,9 @@ public class AuthController {
             @ApiResponse(responseCode = "400", description = "Invalid credentials.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(type = "string", example = "Invalid username or password."))),
+            @ApiResponse(responseCode = "429", description = "Too many failed attempts for this username or address, see Retry-After.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "Too many failed login attempts, please retry later."))),
             @ApiResponse(responseCode = "500", description = "Internal server error.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(type = "string", example = "An error occurred while processing your request.")))
@@ -87,9 +92,46 @@ public class AuthController {
                     content = @Content(
                             schema = @Schema(implementation = LoginRequest.class),
                             examples = @ExampleObject(value = "{\"username\":\"yourUsername\",\"password\":\"your#Passw0rd\"}")
-                    )) LoginRequest loginRequest) {
+                    )) LoginRequest loginRequest,
+            HttpServletRequest request) {
+
+        JwtAuthenticationResponse authResponse = authService.authenticateUser(loginRequest, request.getRemoteAddr());
+        return new ResponseEntity<>(authResponse, HttpStatus.OK);
+    }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh Access Token", description = "Exchanges a refresh token for a new access token and a new refresh token. The presented refresh token can't be used again.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tokens successfully rotated.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = JwtAuthenticationResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Refresh token is unknown, expired, revoked or already used.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "Refresh token is invalid, expired or revoked.")))
+    })
+    public ResponseEntity<JwtAuthenticationResponse> refreshToken(
+            @RequestBody
+            @Parameter(description = "Refresh token returned by the last login or refresh", required = true,
+                    content = @Content(
+                            schema = @Schema(implementation = RefreshTokenRequest.class),
+                            examples = @ExampleObject(value = "{\"refreshToken\":\"yourRefreshToken\"}")
+                    )) RefreshTokenRequest refreshTokenRequest) {
 
-        JwtAuthenticationResponse authResponse = authService.authenticateUser(loginRequest);
+        JwtAuthenticationResponse authResponse = authService.refresh(refreshTokenRequest.getRefreshToken());
         return new ResponseEntity<>(authResponse, HttpStatus.OK);
     }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Logout", description = "Revokes the refresh token and every token rotated from the same login.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Refresh tokens revoked.")
+    })
+    public ResponseEntity<Void> logout(
+            @RequestBody
+            @Parameter(description = "Refresh token to revoke", required = true,
+                    content = @Content(schema = @Schema(implementation = RefreshTokenRequest.class))) RefreshTokenRequest refreshTokenRequest) {
+
+        authService.logout(refreshTokenRequest.getRefreshToken());
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
 }
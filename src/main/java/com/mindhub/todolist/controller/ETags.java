@@ -0,0 +1,80 @@
+package com.mindhub.todolist.controller;
+
+import com.mindhub.todolist.dto.TaskListVersionDTO;
+import com.mindhub.todolist.exception.PreconditionFailedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static com.mindhub.todolist.config.Constans.ETAG_MISMATCH;
+
+// Entity tags built from @Version columns, so conditional GETs are answered before any DTO is built.
+// The version is read before the body, so a concurrent write can only leave a tag older than its body, never newer.
+// Tags are weak: they name a version of the resource, not the bytes, which differ per negotiated format and
+// compression (Tomcat also refuses to gzip a response carrying a strong tag).
+final class ETags {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private ETags() {
+    }
+
+    static String of(Long id, Long version) {
+        return WEAK_PREFIX + "\"" + id + "-" + version + "\"";
+    }
+
+    // Tags a listing owned by one user; the page itself is identified by the request URL
+    static String of(Long ownerId, TaskListVersionDTO listVersion) {
+        return WEAK_PREFIX + "\"" + ownerId + "-" + listVersion.getCount() + "-" + listVersion.getIdSum()
+                + "-" + listVersion.getVersionSum() + "\"";
+    }
+
+    // Weak comparison as required for If-None-Match: "*", comma separated lists and W/ prefixes are accepted
+    static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String opaqueTag = opaque(eTag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaque(tag).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Expected version from If-Match, or null when the client sent none or "*". Our weak tags are accepted here
+    // because they carry the exact version the write is checked against.
+    static Long expectedVersion(String ifMatch, Long id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String prefix = "\"" + id + "-";
+        for (String candidate : ifMatch.split(",")) {
+            String tag = opaque(candidate.trim());
+            if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+                try {
+                    return Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+                } catch (NumberFormatException e) {
+                    // not one of our tags, try the next one
+                }
+            }
+        }
+        throw new PreconditionFailedException(ETAG_MISMATCH + ifMatch);
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag;
+    }
+
+    static HttpHeaders headers(String eTag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(eTag);
+        return headers;
+    }
+
+    static <T> ResponseEntity<T> notModified(String eTag) {
+        return new ResponseEntity<>(headers(eTag), HttpStatus.NOT_MODIFIED);
+    }
+}
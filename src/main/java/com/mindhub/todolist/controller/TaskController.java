@@ -1,7 +1,12 @@
 package com.mindhub.todolist.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.mindhub.todolist.dto.TaskOperationDTO;
+import com.mindhub.todolist.dto.TaskOperationResultDTO;
+import com.mindhub.todolist.dto.TaskPageResponseDTO;
 import com.mindhub.todolist.dto.TaskRequestDTO;
 import com.mindhub.todolist.dto.TaskResponseDTO;
+import com.mindhub.todolist.dto.VersionedResponseDTO;
 import com.mindhub.todolist.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,15 +16,20 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -53,33 +63,64 @@ public class TaskController {
         return new ResponseEntity<>(createdTask, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Process Task Batch", description = "Creates, updates and deletes several tasks in a single transaction.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see the status of each item.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskOperationResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Too many operations.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "Too many operations in one batch, the maximum is: 1000")))
+    })
+    public ResponseEntity<List<TaskOperationResultDTO>> processTaskBatch(
+            @RequestBody
+            @Parameter(description = "Operations to apply, in order", required = true) List<TaskOperationDTO> operations) {
+        List<TaskOperationResultDTO> results = taskService.processTaskBatch(operations);
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get Task by ID", description = "Returns task information based on the provided ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Task successfully returned.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = TaskResponseDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Task not modified since the given ETag."),
             @ApiResponse(responseCode = "404", description = "Task not found.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(type = "string", example = "Task not found.")))
     })
     public ResponseEntity<TaskResponseDTO> getTaskById(
             @PathVariable("id")
-            @Parameter(description = "ID of the task to be retrieved", required = true, example = "1") Long id) {
+            @Parameter(description = "ID of the task to be retrieved", required = true, example = "1") Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+            @Parameter(description = "ETag of a previously returned representation") String ifNoneMatch) {
+        String eTag = ETags.of(id, taskService.getTaskVersion(id));
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ETags.notModified(eTag);
+        }
         TaskResponseDTO taskById = taskService.getTaskById(id);
-        return new ResponseEntity<>(taskById, HttpStatus.OK);
+        return new ResponseEntity<>(taskById, ETags.headers(eTag), HttpStatus.OK);
     }
 
     @GetMapping
-    @Operation(summary = "Get All Tasks", description = "Returns all tasks.")
+    @Operation(summary = "Get All Tasks", description = "Returns a page of tasks ordered by ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tasks successfully returned.",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = TaskResponseDTO.class)
-            ))
+                            schema = @Schema(implementation = TaskPageResponseDTO.class)
+            )),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "Invalid pagination cursor: abc")))
     })
-    public ResponseEntity<List<TaskResponseDTO>> getAllTasks() {
-        List<TaskResponseDTO> tasks = taskService.getAllTasks();
+    public ResponseEntity<TaskPageResponseDTO> getAllTasks(
+            @RequestParam(value = "cursor", required = false)
+            @Parameter(description = "Opaque cursor returned as 'next' by the previous page") String cursor,
+            @RequestParam(value = "size", required = false)
+            @Parameter(description = "Maximum number of tasks per page", example = "50") Integer size) {
+        TaskPageResponseDTO tasks = taskService.getAllTasks(cursor, size);
         return new ResponseEntity<>(tasks, HttpStatus.OK);
     }
 
@@ -102,6 +143,36 @@ public class TaskController {
         return new ResponseEntity<>(updatedTask, HttpStatus.OK);
     }
 
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Patch Task", description = "Applies a JSON Merge Patch to an existing task, writing only the changed fields.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Task successfully patched.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid merge patch.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "Invalid merge patch: 'id' cannot be patched"))),
+            @ApiResponse(responseCode = "404", description = "Task not found.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "Task not found."))),
+            @ApiResponse(responseCode = "409", description = "Task changed by another request while patching.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "The resource was modified by another request, reload it and retry."))),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "If-Match does not match the current version, which is: 3")))
+    })
+    public ResponseEntity<TaskResponseDTO> patchTask(
+            @PathVariable("id")
+            @Parameter(description = "ID of the task to be patched", required = true, example = "1") Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag the patch is based on; the patch is rejected if the resource changed since") String ifMatch,
+            @RequestBody
+            @Parameter(description = "Fields to change; null clears a field", required = true) JsonNode patch) {
+        VersionedResponseDTO<TaskResponseDTO> patched = taskService.patchTask(id, ETags.expectedVersion(ifMatch, id), patch);
+        return new ResponseEntity<>(patched.getBody(), ETags.headers(ETags.of(id, patched.getVersion())), HttpStatus.OK);
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete Task", description = "Deletes an existing task.")
     @ApiResponses(value = {
@@ -139,16 +210,27 @@ public class TaskController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tasks successfully returned.",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = TaskResponseDTO.class))),
+                            schema = @Schema(implementation = TaskPageResponseDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Tasks not modified since the given ETag."),
             @ApiResponse(responseCode = "404", description = "User or tasks not found.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(type = "string", example = "No tasks found for user.")))
     })
-    public ResponseEntity<List<TaskResponseDTO>> getTasksByUserId(
+    public ResponseEntity<TaskPageResponseDTO> getTasksByUserId(
             @PathVariable("userId")
             @Parameter(
-                    description = "ID of the user whose tasks are to be retrieved", required = true, example = "1") Long userId) {
-        List<TaskResponseDTO> tasks = taskService.getTasksByUserId(userId);
-        return new ResponseEntity<>(tasks, HttpStatus.OK);
+                    description = "ID of the user whose tasks are to be retrieved", required = true, example = "1") Long userId,
+            @RequestParam(value = "cursor", required = false)
+            @Parameter(description = "Opaque cursor returned as 'next' by the previous page") String cursor,
+            @RequestParam(value = "size", required = false)
+            @Parameter(description = "Maximum number of tasks per page", example = "50") Integer size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+            @Parameter(description = "ETag of a previously returned representation") String ifNoneMatch) {
+        String eTag = ETags.of(userId, taskService.getTaskListVersionByUserId(userId));
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ETags.notModified(eTag);
+        }
+        TaskPageResponseDTO tasks = taskService.getTasksByUserId(userId, cursor, size);
+        return new ResponseEntity<>(tasks, ETags.headers(eTag), HttpStatus.OK);
     }
 }
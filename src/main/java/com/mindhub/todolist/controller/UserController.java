@@ -1,7 +1,9 @@
 package com.mindhub.todolist.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.mindhub.todolist.dto.UserRequestDTO;
 import com.mindhub.todolist.dto.UserResponseDTO;
+import com.mindhub.todolist.dto.VersionedResponseDTO;
 import com.mindhub.todolist.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,14 +13,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -59,15 +65,22 @@ public class UserController {
             @ApiResponse(responseCode = "200", description = "User successfully returned.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = UserResponseDTO.class))),
+            @ApiResponse(responseCode = "304", description = "User not modified since the given ETag."),
             @ApiResponse(responseCode = "404", description = "User not found.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(type = "string", example = "User not found.")))
     })
     public ResponseEntity<UserResponseDTO> getUserById(
             @PathVariable("id")
-            @Parameter(description = "ID of the user to be retrieved", required = true, example = "1") Long id) {
+            @Parameter(description = "ID of the user to be retrieved", required = true, example = "1") Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+            @Parameter(description = "ETag of a previously returned representation") String ifNoneMatch) {
+        String eTag = ETags.of(id, userService.getUserVersion(id));
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ETags.notModified(eTag);
+        }
         UserResponseDTO userRequestDTO = userService.getUserById(id);
-        return new ResponseEntity<>(userRequestDTO, HttpStatus.OK);
+        return new ResponseEntity<>(userRequestDTO, ETags.headers(eTag), HttpStatus.OK);
     }
 
     @GetMapping
@@ -102,6 +115,36 @@ public class UserController {
         return new ResponseEntity<>(updatedUser, HttpStatus.OK);
     }
 
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Patch User", description = "Applies a JSON Merge Patch to an existing user, writing only the changed fields.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "User successfully patched.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = UserResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid merge patch.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "Invalid merge patch: 'id' cannot be patched"))),
+            @ApiResponse(responseCode = "404", description = "User not found.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "User not found."))),
+            @ApiResponse(responseCode = "409", description = "User changed by another request while patching.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "The resource was modified by another request, reload it and retry."))),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "If-Match does not match the current version, which is: 3")))
+    })
+    public ResponseEntity<UserResponseDTO> patchUser(
+            @PathVariable("id")
+            @Parameter(description = "ID of the user to be patched", required = true, example = "1") Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag the patch is based on; the patch is rejected if the resource changed since") String ifMatch,
+            @RequestBody
+            @Parameter(description = "Fields to change", required = true) JsonNode patch) {
+        VersionedResponseDTO<UserResponseDTO> patched = userService.patchUser(id, ETags.expectedVersion(ifMatch, id), patch);
+        return new ResponseEntity<>(patched.getBody(), ETags.headers(ETags.of(id, patched.getVersion())), HttpStatus.OK);
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete User", description = "Deletes an existing user.")
     @ApiResponses(value = {
@@ -2,12 +2,22 @@ package com.mindhub.todolist.dto;
 
 public class JwtAuthenticationResponse {
     private String accessToken;
+    private String refreshToken;
 
     public JwtAuthenticationResponse(String accessToken) {
         this.accessToken = accessToken;
     }
 
+    public JwtAuthenticationResponse(String accessToken, String refreshToken) {
+        this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
+    }
+
     public String getAccessToken() {
         return accessToken;
     }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
 }
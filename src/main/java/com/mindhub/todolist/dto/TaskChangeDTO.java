@@ -0,0 +1,68 @@
+package com.mindhub.todolist.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mindhub.todolist.entity.TaskStatus;
+import com.mindhub.todolist.service.TaskChangedEvent;
+
+import java.util.Locale;
+
+// A task write as seen by clients following the change feed or the change log; deletes carry only the id and
+// last version, and seq is only set for change log entries
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskChangeDTO {
+
+    private final Long seq;
+    private final String type;
+    private final Long id;
+    private final Long version;
+    private final String title;
+    private final String description;
+    private final TaskStatus status;
+
+    public TaskChangeDTO(String type, Long id, Long version, String title, String description, TaskStatus status) {
+        this(null, type, id, version, title, description, status);
+    }
+
+    public TaskChangeDTO(Long seq, TaskChangedEvent.Type type, Long id, Long version, String title, String description,
+                         TaskStatus status) {
+        this(seq, type.name().toLowerCase(Locale.ROOT), id, version, title, description, status);
+    }
+
+    private TaskChangeDTO(Long seq, String type, Long id, Long version, String title, String description, TaskStatus status) {
+        this.seq = seq;
+        this.type = type;
+        this.id = id;
+        this.version = version;
+        this.title = title;
+        this.description = description;
+        this.status = status;
+    }
+
+    public Long getSeq() {
+        return seq;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+}
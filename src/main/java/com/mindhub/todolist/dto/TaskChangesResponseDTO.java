@@ -0,0 +1,36 @@
+package com.mindhub.todolist.dto;
+
+import java.util.List;
+
+// One page of the change log. cursor is passed back as since on the next call; when resyncRequired is set the
+// changes are incomplete, and the client reloads its tasks and continues from cursor
+public class TaskChangesResponseDTO {
+
+    private final List<TaskChangeDTO> changes;
+    private final long cursor;
+    private final boolean hasMore;
+    private final boolean resyncRequired;
+
+    public TaskChangesResponseDTO(List<TaskChangeDTO> changes, long cursor, boolean hasMore, boolean resyncRequired) {
+        this.changes = changes;
+        this.cursor = cursor;
+        this.hasMore = hasMore;
+        this.resyncRequired = resyncRequired;
+    }
+
+    public List<TaskChangeDTO> getChanges() {
+        return changes;
+    }
+
+    public long getCursor() {
+        return cursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public boolean isResyncRequired() {
+        return resyncRequired;
+    }
+}
@@ -0,0 +1,27 @@
+package com.mindhub.todolist.dto;
+
+// Cheap fingerprint of a task listing: any insert, update or delete changes at least one of these values
+public class TaskListVersionDTO {
+
+    private final long count;
+    private final long idSum;
+    private final long versionSum;
+
+    public TaskListVersionDTO(Long count, Long idSum, Long versionSum) {
+        this.count = count == null ? 0 : count;
+        this.idSum = idSum == null ? 0 : idSum;
+        this.versionSum = versionSum == null ? 0 : versionSum;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getIdSum() {
+        return idSum;
+    }
+
+    public long getVersionSum() {
+        return versionSum;
+    }
+}
@@ -0,0 +1,41 @@
+package com.mindhub.todolist.dto;
+
+public class TaskOperationDTO {
+
+    private TaskOperationType operation;
+    private Long id;
+    private TaskRequestDTO task;
+
+    public TaskOperationDTO() {
+    }
+
+    public TaskOperationDTO(TaskOperationType operation, Long id, TaskRequestDTO task) {
+        this.operation = operation;
+        this.id = id;
+        this.task = task;
+    }
+
+    public TaskOperationType getOperation() {
+        return operation;
+    }
+
+    public void setOperation(TaskOperationType operation) {
+        this.operation = operation;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public TaskRequestDTO getTask() {
+        return task;
+    }
+
+    public void setTask(TaskRequestDTO task) {
+        this.task = task;
+    }
+}
@@ -0,0 +1,61 @@
+package com.mindhub.todolist.dto;
+
+public class TaskOperationResultDTO {
+
+    private int index;
+    private TaskOperationType operation;
+    private int status;
+    private TaskResponseDTO task;
+    private String error;
+
+    public TaskOperationResultDTO() {
+    }
+
+    public TaskOperationResultDTO(int index, TaskOperationType operation, int status, TaskResponseDTO task, String error) {
+        this.index = index;
+        this.operation = operation;
+        this.status = status;
+        this.task = task;
+        this.error = error;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public TaskOperationType getOperation() {
+        return operation;
+    }
+
+    public void setOperation(TaskOperationType operation) {
+        this.operation = operation;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public TaskResponseDTO getTask() {
+        return task;
+    }
+
+    public void setTask(TaskResponseDTO task) {
+        this.task = task;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,7 @@
+package com.mindhub.todolist.dto;
+
+public enum TaskOperationType {
+    CREATE,
+    UPDATE,
+    DELETE
+}
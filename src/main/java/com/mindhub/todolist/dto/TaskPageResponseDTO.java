@@ -0,0 +1,33 @@
+package com.mindhub.todolist.dto;
+
+import java.util.List;
+
+public class TaskPageResponseDTO {
+
+    private List<TaskResponseDTO> items;
+    private String next;
+
+    public TaskPageResponseDTO() {
+    }
+
+    public TaskPageResponseDTO(List<TaskResponseDTO> items, String next) {
+        this.items = items;
+        this.next = next;
+    }
+
+    public List<TaskResponseDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<TaskResponseDTO> items) {
+        this.items = items;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public void setNext(String next) {
+        this.next = next;
+    }
+}
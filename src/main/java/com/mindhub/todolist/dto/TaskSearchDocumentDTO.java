@@ -0,0 +1,39 @@
+package com.mindhub.todolist.dto;
+
+// The columns the search index needs, streamed once at startup
+public class TaskSearchDocumentDTO {
+
+    private final Long id;
+    private final Long userId;
+    private final Long version;
+    private final String title;
+    private final String description;
+
+    public TaskSearchDocumentDTO(Long id, Long userId, Long version, String title, String description) {
+        this.id = id;
+        this.userId = userId;
+        this.version = version;
+        this.title = title;
+        this.description = description;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,29 @@
+package com.mindhub.todolist.dto;
+
+import com.mindhub.todolist.entity.TaskStatus;
+
+// One row of the per-owner status histogram the status counters are seeded from
+public class TaskStatusCountDTO {
+
+    private final Long userId;
+    private final TaskStatus status;
+    private final long count;
+
+    public TaskStatusCountDTO(Long userId, TaskStatus status, Long count) {
+        this.userId = userId;
+        this.status = status;
+        this.count = count == null ? 0 : count;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
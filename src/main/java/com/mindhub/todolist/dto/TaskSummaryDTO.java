@@ -0,0 +1,34 @@
+package com.mindhub.todolist.dto;
+
+import com.mindhub.todolist.entity.TaskStatus;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Number of tasks a user has in each status; every status is present, with zero when the user has none
+public class TaskSummaryDTO {
+
+    private final Map<TaskStatus, Long> counts;
+    private final long total;
+
+    public TaskSummaryDTO(Map<TaskStatus, Long> counts) {
+        EnumMap<TaskStatus, Long> all = new EnumMap<>(TaskStatus.class);
+        long sum = 0;
+        for (TaskStatus status : TaskStatus.values()) {
+            long count = counts.getOrDefault(status, 0L);
+            all.put(status, count);
+            sum += count;
+        }
+        this.counts = Collections.unmodifiableMap(all);
+        this.total = sum;
+    }
+
+    public Map<TaskStatus, Long> getCounts() {
+        return counts;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+}
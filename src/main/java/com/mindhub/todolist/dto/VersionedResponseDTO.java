@@ -0,0 +1,21 @@
+package com.mindhub.todolist.dto;
+
+// A response body together with the entity version it was read at, used for the ETag header
+public class VersionedResponseDTO<T> {
+
+    private final T body;
+    private final Long version;
+
+    public VersionedResponseDTO(T body, Long version) {
+        this.body = body;
+        this.version = version;
+    }
+
+    public T getBody() {
+        return body;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,83 @@
+package com.mindhub.todolist.entity;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+// Roles are persisted as a bitmask on the users row; bit values must never be reused or renumbered
+public enum Role {
+    USER(1),
+    ADMIN(1 << 1);
+
+    private static final Role[] VALUES = values();
+    private static final int ALL_BITS = (1 << VALUES.length) - 1;
+
+    // Immutable authority sets for every possible mask, shared by all users with the same roles
+    private static final List<Set<GrantedAuthority>> AUTHORITIES_BY_MASK = buildAuthorities();
+
+    private final int bit;
+    private final GrantedAuthority authority;
+
+    Role(int bit) {
+        this.bit = bit;
+        this.authority = new SimpleGrantedAuthority("ROLE_" + name());
+    }
+
+    public int getBit() {
+        return bit;
+    }
+
+    public GrantedAuthority getAuthority() {
+        return authority;
+    }
+
+    public static int toMask(Collection<Role> roles) {
+        int mask = 0;
+        for (Role role : roles) {
+            mask |= role.bit;
+        }
+        return mask;
+    }
+
+    public static EnumSet<Role> fromMask(int mask) {
+        EnumSet<Role> roles = EnumSet.noneOf(Role.class);
+        for (Role role : VALUES) {
+            if ((mask & role.bit) != 0) {
+                roles.add(role);
+            }
+        }
+        return roles;
+    }
+
+    public static Set<GrantedAuthority> authoritiesOf(int mask) {
+        return AUTHORITIES_BY_MASK.get(mask & ALL_BITS);
+    }
+
+    public static Optional<Role> fromAuthority(String authority) {
+        for (Role role : VALUES) {
+            if (role.authority.getAuthority().equals(authority)) {
+                return Optional.of(role);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static List<Set<GrantedAuthority>> buildAuthorities() {
+        List<Set<GrantedAuthority>> authorities = new ArrayList<>(ALL_BITS + 1);
+        for (int mask = 0; mask <= ALL_BITS; mask++) {
+            Set<GrantedAuthority> set = new LinkedHashSet<>();
+            for (Role role : fromMask(mask)) {
+                set.add(role.authority);
+            }
+            authorities.add(Set.copyOf(set));
+        }
+        return List.copyOf(authorities);
+    }
+}
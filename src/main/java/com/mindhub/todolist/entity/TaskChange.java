@@ -0,0 +1,98 @@
+package com.mindhub.todolist.entity;
+
+import com.mindhub.todolist.service.TaskChangedEvent;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+// Latest write to one task as recorded in the change log; a DELETED row is the task's tombstone
+@Entity
+@Table(name = "task_changes")
+public class TaskChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private TaskChangedEvent.Type type;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+    public TaskChange() {
+    }
+
+    public TaskChange(Long userId, Long taskId, TaskChangedEvent.Type type, Long version, Instant changedAt) {
+        this.userId = userId;
+        this.taskId = taskId;
+        this.type = type;
+        this.version = version;
+        this.changedAt = changedAt;
+    }
+
+    public Long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(Long seq) {
+        this.seq = seq;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public TaskChangedEvent.Type getType() {
+        return type;
+    }
+
+    public void setType(TaskChangedEvent.Type type) {
+        this.type = type;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(Instant changedAt) {
+        this.changedAt = changedAt;
+    }
+}
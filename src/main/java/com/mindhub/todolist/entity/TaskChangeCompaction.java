@@ -0,0 +1,36 @@
+package com.mindhub.todolist.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// Single row recording how far tombstones have been purged from the change log
+@Entity
+@Table(name = "task_change_compaction")
+public class TaskChangeCompaction {
+
+    public static final Integer ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(name = "purged_through", nullable = false)
+    private Long purgedThrough;
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Long getPurgedThrough() {
+        return purgedThrough;
+    }
+
+    public void setPurgedThrough(Long purgedThrough) {
+        this.purgedThrough = purgedThrough;
+    }
+}
@@ -1,34 +1,52 @@
 package com.mindhub.todolist.entity;
 
+import com.mindhub.todolist.config.AuthenticatedUser;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
-import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
-import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.annotations.OptimisticLock;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "users")
-public class UserEntity implements UserDetails {
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = UserEntity.CACHE_REGION)
+@NaturalIdCache(region = UserEntity.USERNAME_CACHE_REGION)
+public class UserEntity implements UserDetails, AuthenticatedUser {
+
+    // Second-level cache regions, created up front by SecondLevelCacheConfig
+    public static final String CACHE_REGION = "users";
+    public static final String USERNAME_CACHE_REGION = "users-by-username";
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @NaturalId(mutable = true)
     @Column(nullable = false, unique = true)
     @NotBlank(message = "Username is required")
     @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
@@ -49,12 +67,22 @@ public class UserEntity implements UserDetails {
     @Email(message = "Email should be valid")
     private String email;
 
+    // Task changes carry their own version and must not bump the owner's
     @OneToMany(mappedBy = "userEntity", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OptimisticLock(excluded = true)
     private Set<Task> tasks = new HashSet<>();
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    private Set<GrantedAuthority> authorities = new HashSet<>();
+    // Bitmask of Role bits, see Role
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private int roles;
+
+    // Bumped by Hibernate on every update, exposed as the user's ETag
+    @Version
+    @Column(nullable = false)
+    private Long version;
 
+    @Override
     public Long getId() {
         return id;
     }
@@ -93,11 +121,27 @@ public class UserEntity implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return authorities;
+        return Role.authoritiesOf(roles);
+    }
+
+    public EnumSet<Role> getRoles() {
+        return Role.fromMask(roles);
+    }
+
+    public void setRoles(Set<Role> roles) {
+        this.roles = Role.toMask(roles);
+    }
+
+    public boolean hasRole(Role role) {
+        return (roles & role.getBit()) != 0;
+    }
+
+    public Long getVersion() {
+        return version;
     }
 
-    public void setAuthorities(Set<GrantedAuthority> authorities) {
-        this.authorities = authorities;
+    public void setVersion(Long version) {
+        this.version = version;
     }
 
     public String getPassword() {
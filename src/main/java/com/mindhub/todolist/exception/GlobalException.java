@@ -3,14 +3,18 @@ package com.mindhub.todolist.exception;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+import java.time.Duration;
 import java.util.stream.Collectors;
 
+import static com.mindhub.todolist.config.Constans.CONCURRENT_MODIFICATION;
 import static com.mindhub.todolist.config.Constans.EMAIL_ALREADY_EXISTS;
 import static com.mindhub.todolist.config.Constans.USERNAME_ALREADY_EXISTS;
 
@@ -26,6 +30,36 @@ public class GlobalException {
         return  ResponseEntity.status(HttpStatus.BAD_REQUEST).body(bre.getMessage());
     }
 
+    @ExceptionHandler({UnauthorizedException.class})
+    public ResponseEntity<String> handleUnauthorizedException(UnauthorizedException ue) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ue.getMessage());
+    }
+
+    @ExceptionHandler({PreconditionFailedException.class})
+    public ResponseEntity<String> handlePreconditionFailedException(PreconditionFailedException pfe) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(pfe.getMessage());
+    }
+
+    // A version check in the UPDATE found no row: someone else committed between our read and our write
+    @ExceptionHandler({OptimisticLockingFailureException.class})
+    public ResponseEntity<String> handleOptimisticLockingFailureException(OptimisticLockingFailureException olfe) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(CONCURRENT_MODIFICATION);
+    }
+
+    @ExceptionHandler({TooManyRequestsException.class})
+    public ResponseEntity<String> handleTooManyRequestsException(TooManyRequestsException tmre) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds(tmre.getRetryAfter())))
+                .body(tmre.getMessage());
+    }
+
+    @ExceptionHandler({ServiceUnavailableException.class})
+    public ResponseEntity<String> handleServiceUnavailableException(ServiceUnavailableException sue) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds(sue.getRetryAfter())))
+                .body(sue.getMessage());
+    }
+
     @ExceptionHandler({ConstraintViolationException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<String> handleConstraintViolationException(ConstraintViolationException cve) {
@@ -49,4 +83,9 @@ public class GlobalException {
         // Fallback to a generic conflict message if the specific cause isn't found
         return ResponseEntity.status(HttpStatus.CONFLICT).body("A conflict occurred: " + dive.getMostSpecificCause().getMessage());
     }
+
+    // Retry-After is whole seconds; round up so clients never come back early
+    private static long retryAfterSeconds(Duration retryAfter) {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
 }
@@ -0,0 +1,7 @@
+package com.mindhub.todolist.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
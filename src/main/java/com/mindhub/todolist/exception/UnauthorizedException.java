@@ -0,0 +1,7 @@
+package com.mindhub.todolist.exception;
+
+public class UnauthorizedException extends RuntimeException {
+    public UnauthorizedException(String message) {
+        super(message);
+    }
+}
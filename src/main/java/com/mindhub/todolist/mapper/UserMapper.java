@@ -2,12 +2,12 @@ package com.mindhub.todolist.mapper;
 
 import com.mindhub.todolist.dto.UserRequestDTO;
 import com.mindhub.todolist.dto.UserResponseDTO;
+import com.mindhub.todolist.entity.Role;
 import com.mindhub.todolist.entity.UserEntity;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
-import java.util.Collections;
+import java.util.EnumSet;
 
 @Component
 public class UserMapper {
@@ -39,7 +39,7 @@ public class UserMapper {
         userEntity.setUsername(userRequestDTO.getUsername());
         userEntity.setEmail(userRequestDTO.getEmail());
         userEntity.setPassword(passwordEncoder.encode(userRequestDTO.getPassword()));
-        userEntity.setAuthorities(Collections.singleton(new SimpleGrantedAuthority("ROLE_USER")));
+        userEntity.setRoles(EnumSet.of(Role.USER));
 
         return userEntity;
     }
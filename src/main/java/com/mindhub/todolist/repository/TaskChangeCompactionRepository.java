@@ -0,0 +1,7 @@
+package com.mindhub.todolist.repository;
+
+import com.mindhub.todolist.entity.TaskChangeCompaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface TaskChangeCompactionRepository extends JpaRepository<TaskChangeCompaction, Integer> {
+}
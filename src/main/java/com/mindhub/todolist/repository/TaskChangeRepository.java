@@ -0,0 +1,39 @@
+package com.mindhub.todolist.repository;
+
+import com.mindhub.todolist.dto.TaskChangeDTO;
+import com.mindhub.todolist.entity.TaskChange;
+import com.mindhub.todolist.service.TaskChangedEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface TaskChangeRepository extends JpaRepository<TaskChange, Long> {
+
+    // Changes after the cursor with the task's current fields; tombstones have no task row left to join
+    @Query("select new com.mindhub.todolist.dto.TaskChangeDTO(c.seq, c.type, c.taskId, coalesce(t.version, c.version), "
+            + "t.title, t.description, t.status) "
+            + "from TaskChange c left join Task t on t.id = c.taskId "
+            + "where c.userId = :userId and c.seq > :since order by c.seq")
+    List<TaskChangeDTO> findChangesAfter(@Param("userId") Long userId, @Param("since") Long since, Limit limit);
+
+    @Query("select max(c.seq) from TaskChange c where c.userId = :userId")
+    Optional<Long> findLastSeqByUserId(@Param("userId") Long userId);
+
+    // Compaction: only the newest row per task is kept, so a write replaces the task's previous entry
+    @Modifying
+    @Query("delete from TaskChange c where c.taskId = :taskId")
+    int deleteByTaskId(@Param("taskId") Long taskId);
+
+    @Query("select max(c.seq) from TaskChange c where c.type = :type and c.changedAt < :before")
+    Optional<Long> findLastSeqByTypeBefore(@Param("type") TaskChangedEvent.Type type, @Param("before") Instant before);
+
+    @Modifying
+    @Query("delete from TaskChange c where c.type = :type and c.seq <= :seq")
+    int deleteByTypeThrough(@Param("type") TaskChangedEvent.Type type, @Param("seq") Long seq);
+}
@@ -1,19 +1,90 @@
 package com.mindhub.todolist.repository;
 
+import com.mindhub.todolist.dto.TaskListVersionDTO;
+import com.mindhub.todolist.dto.TaskResponseDTO;
+import com.mindhub.todolist.dto.TaskSearchDocumentDTO;
+import com.mindhub.todolist.dto.TaskStatusCountDTO;
 import com.mindhub.todolist.entity.Task;
 import com.mindhub.todolist.entity.TaskStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TaskRepository extends JpaRepository<Task, Long> {
 
-    Optional<Task> findByTitle(String title);
+    String TASK_RESPONSE = "select new com.mindhub.todolist.dto.TaskResponseDTO(t.id, t.title, t.description, t.status) from Task t ";
+    String TASK_LIST_VERSION = "select new com.mindhub.todolist.dto.TaskListVersionDTO(count(t), sum(t.id), sum(t.version)) from Task t ";
 
-    List<Task> findByUserEntityId(Long userId);
+    // Read-only projections straight into the response DTO, no entity hydration
+    @Query(TASK_RESPONSE + "where t.id = :id")
+    Optional<TaskResponseDTO> findResponseById(@Param("id") Long id);
 
-    List<Task> findByUserEntityUsername(String username);
+    // Loads a task only when it belongs to the given user
+    @Query("select t from Task t where t.id = :id and t.userEntity.id = :userId")
+    Optional<Task> findByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
 
-    List<Task> findByUserEntityUsernameAndStatus(String username, TaskStatus status);
+    @Query(TASK_RESPONSE + "where t.title = :title")
+    Optional<TaskResponseDTO> findResponseByTitle(@Param("title") String title);
+
+    // Streams every task for exports; callers must hold an open transaction and detach rows as they go
+    @Query("select t from Task t")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Task> streamAll();
+
+    // Feeds the in-memory search index; a projection, so nothing accumulates in the persistence context
+    @Query("select new com.mindhub.todolist.dto.TaskSearchDocumentDTO(t.id, t.userEntity.id, t.version, t.title, t.description) from Task t")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<TaskSearchDocumentDTO> streamSearchDocuments();
+
+    // Seeds the per-owner status counters at startup
+    @Query("select new com.mindhub.todolist.dto.TaskStatusCountDTO(t.userEntity.id, t.status, count(t)) from Task t "
+            + "where t.status is not null group by t.userEntity.id, t.status")
+    List<TaskStatusCountDTO> countByUserAndStatus();
+
+    // One user's counts, for summaries when the in-memory counters are off; served by the (user_id, status) index
+    @Query("select new com.mindhub.todolist.dto.TaskStatusCountDTO(t.userEntity.id, t.status, count(t)) from Task t "
+            + "where t.userEntity.id = :userId and t.status is not null group by t.userEntity.id, t.status")
+    List<TaskStatusCountDTO> countByStatusForUser(@Param("userId") Long userId);
+
+    @Query(TASK_RESPONSE + "where t.id in :ids and t.userEntity.id = :userId")
+    List<TaskResponseDTO> findResponsesByIdsAndUserId(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    // Keyset pagination on id
+    @Query(TASK_RESPONSE + "where t.id > :afterId order by t.id")
+    List<TaskResponseDTO> findResponsePage(@Param("afterId") Long afterId, Limit limit);
+
+    @Query(TASK_RESPONSE + "where t.userEntity.id = :userId and t.id > :afterId order by t.id")
+    List<TaskResponseDTO> findResponsePageByUserId(@Param("userId") Long userId, @Param("afterId") Long afterId, Limit limit);
+
+    @Query(TASK_RESPONSE + "where t.userEntity.username = :username and t.id > :afterId order by t.id")
+    List<TaskResponseDTO> findResponsePageByUsername(@Param("username") String username, @Param("afterId") Long afterId, Limit limit);
+
+    @Query(TASK_RESPONSE + "where t.userEntity.username = :username and t.status = :status and t.id > :afterId order by t.id")
+    List<TaskResponseDTO> findResponsePageByUsernameAndStatus(@Param("username") String username, @Param("status") TaskStatus status,
+                                                              @Param("afterId") Long afterId, Limit limit);
+
+    // Version lookups for conditional requests, cheaper than building the response DTOs
+    @Query("select t.version from Task t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query(TASK_LIST_VERSION + "where t.userEntity.id = :userId")
+    TaskListVersionDTO findListVersionByUserId(@Param("userId") Long userId);
+
+    @Query(TASK_LIST_VERSION + "where t.userEntity.username = :username")
+    TaskListVersionDTO findListVersionByUsername(@Param("username") String username);
+
+    @Query(TASK_LIST_VERSION + "where t.userEntity.username = :username and t.status = :status")
+    TaskListVersionDTO findListVersionByUsernameAndStatus(@Param("username") String username, @Param("status") TaskStatus status);
 }
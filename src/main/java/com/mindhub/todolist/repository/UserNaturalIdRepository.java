@@ -0,0 +1,11 @@
+package com.mindhub.todolist.repository;
+
+import com.mindhub.todolist.entity.UserEntity;
+
+import java.util.Optional;
+
+public interface UserNaturalIdRepository {
+
+    // Resolves the user through its natural id so repeated lookups are served from the second-level cache
+    Optional<UserEntity> findByUsername(String username);
+}
@@ -1,17 +1,59 @@
 package com.mindhub.todolist.repository;
 
+import com.mindhub.todolist.dto.UserResponseDTO;
 import com.mindhub.todolist.entity.UserEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
-public interface UserRepository extends JpaRepository<UserEntity, Long> {
+public interface UserRepository extends JpaRepository<UserEntity, Long>, UserNaturalIdRepository {
 
-    Optional<UserEntity> findByUsername(String username);
+    String USER_RESPONSE = "select new com.mindhub.todolist.dto.UserResponseDTO(u.id, u.username, u.email) from UserEntity u ";
+
+    // Read-only projections straight into the response DTO, no entity hydration
+    @Query(USER_RESPONSE + "where u.id = :id")
+    Optional<UserResponseDTO> findResponseById(@Param("id") Long id);
+
+    @Query(USER_RESPONSE + "where u.username = :username")
+    Optional<UserResponseDTO> findResponseByUsername(@Param("username") String username);
+
+    @Query(USER_RESPONSE + "order by u.id")
+    List<UserResponseDTO> findAllResponses();
+
+    // Version lookups for conditional requests
+    @Query("select u.version from UserEntity u where u.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("select u.version from UserEntity u where u.username = :username")
+    Optional<Long> findVersionByUsername(@Param("username") String username);
+
+    // Row lock ordering a user's change log appends: the next seq is only drawn once the previous writer has committed
+    @Query(value = "select id from users where id = :id for update", nativeQuery = true)
+    Optional<Long> lockById(@Param("id") Long id);
 
     boolean existsByEmail(String email);
 
     boolean existsByUsername(String username);
 
     long countByEmail(String email);
+
+    @Query("select u.id from UserEntity u where u.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Streams every user for exports; callers must hold an open transaction and detach rows as they go
+    @Query("select u from UserEntity u")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<UserEntity> streamAll();
 }
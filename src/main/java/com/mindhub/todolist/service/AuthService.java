@@ -5,5 +5,9 @@ import com.mindhub.todolist.dto.LoginRequest;
 
 public interface AuthService {
 
-    JwtAuthenticationResponse authenticateUser(LoginRequest loginRequest);
+    JwtAuthenticationResponse authenticateUser(LoginRequest loginRequest, String clientAddress);
+
+    JwtAuthenticationResponse refresh(String refreshToken);
+
+    void logout(String refreshToken);
 }
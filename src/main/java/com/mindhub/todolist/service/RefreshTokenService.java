@@ -0,0 +1,17 @@
+package com.mindhub.todolist.service;
+
+public interface RefreshTokenService {
+
+    // Starts a new token family for a fresh login and returns the raw token
+    String issue(Long userId);
+
+    // Consumes the presented token and returns its successor; presenting a consumed token revokes the family
+    Rotation rotate(String refreshToken);
+
+    void revoke(String refreshToken);
+
+    int purgeExpired();
+
+    record Rotation(Long userId, String refreshToken) {
+    }
+}
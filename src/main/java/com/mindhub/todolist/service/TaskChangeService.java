@@ -0,0 +1,15 @@
+package com.mindhub.todolist.service;
+
+import com.mindhub.todolist.dto.TaskChangesResponseDTO;
+
+public interface TaskChangeService {
+
+    // Appends a task write to the change log, inside the transaction that made it
+    void record(TaskChangedEvent event);
+
+    // The user's changes after the since cursor, oldest first; 0 or null starts from the beginning
+    TaskChangesResponseDTO getChanges(Long userId, Long since, Integer size);
+
+    // Purges tombstones older than the retention period and returns how many were removed
+    int compact();
+}
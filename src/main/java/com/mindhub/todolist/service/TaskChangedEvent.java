@@ -0,0 +1,34 @@
+package com.mindhub.todolist.service;
+
+import com.mindhub.todolist.entity.Task;
+import com.mindhub.todolist.entity.TaskStatus;
+
+// Published by TaskService for every task write, inside the writing transaction; listeners pick their phase.
+// previousStatus is the committed status before the write (null for creates), status the one after (null for deletes).
+public record TaskChangedEvent(Type type, Long taskId, Long userId, Long version,
+                               String title, String description, TaskStatus status, TaskStatus previousStatus) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static TaskChangedEvent created(Task task) {
+        return new TaskChangedEvent(Type.CREATED, task.getId(), ownerId(task), task.getVersion(),
+                task.getTitle(), task.getDescription(), task.getStatus(), null);
+    }
+
+    public static TaskChangedEvent updated(Task task, TaskStatus previousStatus) {
+        return new TaskChangedEvent(Type.UPDATED, task.getId(), ownerId(task), task.getVersion(),
+                task.getTitle(), task.getDescription(), task.getStatus(), previousStatus);
+    }
+
+    public static TaskChangedEvent deleted(Task task, TaskStatus previousStatus) {
+        return new TaskChangedEvent(Type.DELETED, task.getId(), ownerId(task), task.getVersion(),
+                null, null, null, previousStatus);
+    }
+
+    // The owner is usually an uninitialized reference; reading its id does not load it
+    private static Long ownerId(Task task) {
+        return task.getUserEntity() == null ? null : task.getUserEntity().getId();
+    }
+}
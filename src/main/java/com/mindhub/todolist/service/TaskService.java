@@ -1,9 +1,19 @@
 package com.mindhub.todolist.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.mindhub.todolist.dto.TaskListVersionDTO;
+import com.mindhub.todolist.dto.TaskOperationDTO;
+import com.mindhub.todolist.dto.TaskOperationResultDTO;
+import com.mindhub.todolist.dto.TaskPageResponseDTO;
 import com.mindhub.todolist.dto.TaskRequestDTO;
 import com.mindhub.todolist.dto.TaskResponseDTO;
+import com.mindhub.todolist.dto.TaskSummaryDTO;
+import com.mindhub.todolist.dto.VersionedResponseDTO;
 import com.mindhub.todolist.entity.TaskStatus;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface TaskService {
@@ -11,20 +21,55 @@ public interface TaskService {
     // CRUD operations
     TaskResponseDTO createTask(TaskRequestDTO taskRequestDTO);
 
-    TaskResponseDTO getTaskById(Long taskId);
+    TaskResponseDTO createTaskForUser(Long userId, TaskRequestDTO taskRequestDTO);
 
-    List<TaskResponseDTO> getAllTasks();
+    TaskResponseDTO getTaskById(Long taskId);
 
     TaskResponseDTO updateTask(Long taskId, TaskRequestDTO taskRequestDTO);
 
+    // JSON Merge Patch; a non-null expectedVersion must equal the current one
+    VersionedResponseDTO<TaskResponseDTO> patchTask(Long taskId, Long expectedVersion, JsonNode patch);
+
+    // Same patch, limited to the caller's own tasks; another user's task is reported as not found
+    VersionedResponseDTO<TaskResponseDTO> patchTaskForUser(Long userId, Long taskId, Long expectedVersion, JsonNode patch);
+
     void deleteTask(Long id);
 
     // Find by specific attributes
     TaskResponseDTO getTaskByTitle(String title);
 
-    List<TaskResponseDTO> getTasksByUserId(Long userId);
+    // Full-text search over the user's own task titles and descriptions, best match first
+    List<TaskResponseDTO> searchTasks(Long userId, String query, Integer size);
+
+    // Task counts per status for one user, served from in-memory counters
+    TaskSummaryDTO getTaskSummary(Long userId);
+
+    // Server-Sent Events stream of the user's task writes, starting from the moment of subscribing
+    SseEmitter subscribeToTaskChanges(Long userId);
+
+    // Cursor (keyset) paginated listings
+    TaskPageResponseDTO getAllTasks(String cursor, Integer size);
+
+    TaskPageResponseDTO getTasksByUserId(Long userId, String cursor, Integer size);
+
+    TaskPageResponseDTO getTasksByUsername(String username, String cursor, Integer size);
+
+    TaskPageResponseDTO getTasksByUsernameAndStatus(String username, TaskStatus status, String cursor, Integer size);
+
+    // Versions for conditional requests
+    Long getTaskVersion(Long taskId);
+
+    TaskListVersionDTO getTaskListVersionByUserId(Long userId);
+
+    TaskListVersionDTO getTaskListVersionByUsername(String username);
+
+    TaskListVersionDTO getTaskListVersionByUsernameAndStatus(String username, TaskStatus status);
+
+    // Batch operations
+    List<TaskOperationResultDTO> processTaskBatch(List<TaskOperationDTO> operations);
 
-    List<TaskResponseDTO> getTasksByUsername(String username);
+    List<TaskOperationResultDTO> processTaskBatchForUser(Long userId, List<TaskOperationDTO> operations);
 
-    List<TaskResponseDTO> getTasksByUsernameAndStatus(String username, TaskStatus status);
+    // Export
+    void exportTasks(OutputStream outputStream) throws IOException;
 }
@@ -0,0 +1,6 @@
+package com.mindhub.todolist.service;
+
+// Published by UserService when a user is deleted, inside the deleting transaction. The user's tasks go with it
+// through the cascade and publish no TaskChangedEvents, so listeners holding per-owner state drop the owner instead.
+public record UserDeletedEvent(Long userId) {
+}
@@ -1,8 +1,12 @@
 package com.mindhub.todolist.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.mindhub.todolist.dto.UserRequestDTO;
 import com.mindhub.todolist.dto.UserResponseDTO;
+import com.mindhub.todolist.dto.VersionedResponseDTO;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface UserService {
@@ -18,13 +22,26 @@ public interface UserService {
 
     UserResponseDTO updateUser(String username, UserRequestDTO userRequestDTO);
 
+    // JSON Merge Patch; a non-null expectedVersion must equal the current one
+    VersionedResponseDTO<UserResponseDTO> patchUser(Long id, Long expectedVersion, JsonNode patch);
+
+    VersionedResponseDTO<UserResponseDTO> patchUser(String username, Long expectedVersion, JsonNode patch);
+
     void deleteUser(Long id);
 
     // Find by specific attributes
     UserResponseDTO getUserByUsername(String username);
 
+    // Versions for conditional requests
+    Long getUserVersion(Long id);
+
+    Long getUserVersionByUsername(String username);
+
     // Utility methods
     boolean checkIfEmailExists(String email);
 
     long countUsersByEmail(String email);
+
+    // Export
+    void exportUsers(OutputStream outputStream) throws IOException;
 }
@@ -1,40 +1,85 @@
 package com.mindhub.todolist.service.impl;
 
+import com.mindhub.todolist.config.AuthenticatedUser;
 import com.mindhub.todolist.config.JwtTokenProvider;
+import com.mindhub.todolist.config.LoginAttemptLimiter;
 import com.mindhub.todolist.dto.JwtAuthenticationResponse;
 import com.mindhub.todolist.dto.LoginRequest;
+import com.mindhub.todolist.entity.UserEntity;
+import com.mindhub.todolist.exception.UnauthorizedException;
+import com.mindhub.todolist.repository.UserRepository;
 import com.mindhub.todolist.service.AuthService;
+import com.mindhub.todolist.service.RefreshTokenService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import static com.mindhub.todolist.config.Constans.INVALID_REFRESH_TOKEN;
+
 @Service
 public class AuthServiceImpl implements AuthService {
 
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
+    private final LoginAttemptLimiter loginAttemptLimiter;
+    private final RefreshTokenService refreshTokenService;
+    private final UserRepository userRepository;
 
     @Autowired
-    public AuthServiceImpl(AuthenticationManager authenticationManager, JwtTokenProvider tokenProvider) {
+    public AuthServiceImpl(AuthenticationManager authenticationManager, JwtTokenProvider tokenProvider,
+                           LoginAttemptLimiter loginAttemptLimiter, RefreshTokenService refreshTokenService,
+                           UserRepository userRepository) {
         this.authenticationManager = authenticationManager;
         this.tokenProvider = tokenProvider;
+        this.loginAttemptLimiter = loginAttemptLimiter;
+        this.refreshTokenService = refreshTokenService;
+        this.userRepository = userRepository;
     }
 
     @Override
-    public JwtAuthenticationResponse authenticateUser(LoginRequest loginRequest) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequest.getUsername(),
-                        loginRequest.getPassword()
-                )
-        );
+    public JwtAuthenticationResponse authenticateUser(LoginRequest loginRequest, String clientAddress) {
+        // Throttled attempts are turned away before any BCrypt work
+        loginAttemptLimiter.checkAllowed(loginRequest.getUsername(), clientAddress);
+
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            loginRequest.getUsername(),
+                            loginRequest.getPassword()
+                    )
+            );
+        } catch (BadCredentialsException e) {
+            loginAttemptLimiter.recordFailure(loginRequest.getUsername(), clientAddress);
+            throw e;
+        }
+        loginAttemptLimiter.recordSuccess(loginRequest.getUsername());
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
         String jwt = tokenProvider.generateToken(authentication);
+        String refreshToken = refreshTokenService.issue(AuthenticatedUser.idOf(authentication));
 
-        return new JwtAuthenticationResponse(jwt);
+        return new JwtAuthenticationResponse(jwt, refreshToken);
+    }
+
+    // No password check here: the refresh token store decides, and the user comes from the second-level cache
+    @Override
+    public JwtAuthenticationResponse refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        UserEntity user = userRepository.findById(rotation.userId())
+                .orElseThrow(() -> new UnauthorizedException(INVALID_REFRESH_TOKEN));
+
+        String jwt = tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        return new JwtAuthenticationResponse(jwt, rotation.refreshToken());
+    }
+
+    @Override
+    public void logout(String refreshToken) {
+        refreshTokenService.revoke(refreshToken);
     }
 }
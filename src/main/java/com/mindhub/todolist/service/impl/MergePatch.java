@@ -0,0 +1,77 @@
+package com.mindhub.todolist.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.mindhub.todolist.exception.BadRequestException;
+import com.mindhub.todolist.exception.PreconditionFailedException;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.mindhub.todolist.config.Constans.INVALID_MERGE_PATCH;
+import static com.mindhub.todolist.config.Constans.VERSION_MISMATCH;
+
+// JSON Merge Patch (RFC 7396) over flat entities: absent members are kept, null clears, anything else replaces
+final class MergePatch {
+
+    private MergePatch() {
+    }
+
+    static JsonNode requireObject(JsonNode patch, Set<String> patchableFields) {
+        if (patch == null || !patch.isObject()) {
+            throw new BadRequestException(INVALID_MERGE_PATCH + "the body must be a JSON object");
+        }
+        for (Iterator<String> names = patch.fieldNames(); names.hasNext(); ) {
+            String name = names.next();
+            if (!patchableFields.contains(name)) {
+                throw new BadRequestException(INVALID_MERGE_PATCH + "'" + name + "' cannot be patched");
+            }
+        }
+        return patch;
+    }
+
+    // A null expected version means the client sent no If-Match and accepts any current version
+    static void checkVersion(Long expectedVersion, Long currentVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw new PreconditionFailedException(VERSION_MISMATCH + currentVersion);
+        }
+    }
+
+    // Writes the member only when it differs, so unchanged fields never mark the entity dirty
+    static <T> boolean apply(JsonNode patch, String field, Function<JsonNode, T> reader,
+                             Supplier<T> getter, Consumer<T> setter) {
+        if (!patch.has(field)) {
+            return false;
+        }
+        JsonNode node = patch.get(field);
+        T value = node.isNull() ? null : reader.apply(node);
+        if (Objects.equals(value, getter.get())) {
+            return false;
+        }
+        setter.accept(value);
+        return true;
+    }
+
+    static Function<JsonNode, String> text(String field) {
+        return node -> {
+            if (!node.isTextual()) {
+                throw new BadRequestException(INVALID_MERGE_PATCH + "'" + field + "' must be a string");
+            }
+            return node.textValue();
+        };
+    }
+
+    static <E extends Enum<E>> Function<JsonNode, E> enumValue(String field, Class<E> type) {
+        Function<JsonNode, String> text = text(field);
+        return node -> {
+            try {
+                return Enum.valueOf(type, text.apply(node));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException(INVALID_MERGE_PATCH + "'" + field + "' has no value " + node.textValue());
+            }
+        };
+    }
+}
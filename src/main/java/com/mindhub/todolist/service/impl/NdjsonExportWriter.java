@@ -0,0 +1,54 @@
+package com.mindhub.todolist.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Writes entity streams as newline-delimited JSON, detaching every row once written so memory stays flat
+@Component
+public class NdjsonExportWriter {
+
+    private static final int FLUSH_EVERY = 500;
+
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    @Autowired
+    public NdjsonExportWriter(ObjectMapper objectMapper, EntityManager entityManager) {
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+    }
+
+    public <E, D> long write(Stream<E> rows, Function<E, D> toDto, Class<D> dtoType, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(dtoType)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long written = 0;
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null)) {
+            Iterator<E> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                E row = iterator.next();
+                writer.writeValue(generator, toDto.apply(row));
+                generator.writeRaw('\n');
+                entityManager.detach(row);
+
+                if (++written % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        return written;
+    }
+}
@@ -0,0 +1,114 @@
+package com.mindhub.todolist.service.impl;
+
+import com.mindhub.todolist.entity.RefreshToken;
+import com.mindhub.todolist.exception.UnauthorizedException;
+import com.mindhub.todolist.repository.RefreshTokenRepository;
+import com.mindhub.todolist.service.RefreshTokenService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import static com.mindhub.todolist.config.Constans.INVALID_REFRESH_TOKEN;
+
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenServiceImpl.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${jwt.refresh-token.ttl:P30D}")
+    private Duration ttl = Duration.ofDays(30);
+
+    private Clock clock = Clock.systemUTC();
+
+    @Autowired
+    public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository) {
+        this.refreshTokenRepository = refreshTokenRepository;
+    }
+
+    @Override
+    @Transactional
+    public String issue(Long userId) {
+        return store(userId, UUID.randomUUID().toString());
+    }
+
+    // Reuse must stay revoked even though the caller gets an error, hence no rollback for UnauthorizedException
+    @Override
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public Rotation rotate(String refreshToken) {
+        RefreshToken current = find(refreshToken);
+        Instant now = clock.instant();
+
+        if (current.isRevoked() || !current.getExpiresAt().isAfter(now)) {
+            throw new UnauthorizedException(INVALID_REFRESH_TOKEN);
+        }
+        if (current.getUsedAt() != null || refreshTokenRepository.markUsed(current.getId(), now) == 0) {
+            // A consumed token came back: either it was stolen or the client replayed it, so end the whole session
+            int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId());
+            log.warn("Refresh token reuse detected for user {}, revoked {} tokens", current.getUserId(), revoked);
+            throw new UnauthorizedException(INVALID_REFRESH_TOKEN);
+        }
+
+        return new Rotation(current.getUserId(), store(current.getUserId(), current.getFamilyId()));
+    }
+
+    @Override
+    @Transactional
+    public void revoke(String refreshToken) {
+        refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${jwt.refresh-token.purge-interval:PT1H}")
+    public int purgeExpired() {
+        return refreshTokenRepository.deleteExpired(clock.instant());
+    }
+
+    private RefreshToken find(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw new UnauthorizedException(INVALID_REFRESH_TOKEN);
+        }
+        return refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> new UnauthorizedException(INVALID_REFRESH_TOKEN));
+    }
+
+    private String store(Long userId, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(new RefreshToken(hash(token), familyId, userId, clock.instant().plus(ttl)));
+        return token;
+    }
+
+    // Tokens carry 256 random bits, so a plain digest is enough to keep them useless if the table leaks
+    private static String hash(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
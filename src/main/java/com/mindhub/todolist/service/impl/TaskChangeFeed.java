@@ -0,0 +1,216 @@
+package com.mindhub.todolist.service.impl;
+
+import com.mindhub.todolist.dto.TaskChangeDTO;
+import com.mindhub.todolist.service.TaskChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Pushes committed task writes to the owner's open Server-Sent Events connections.
+// An idle connection holds no thread: events are queued per connection and written by a short-lived virtual thread,
+// so a slow client only ever delays itself, and one that falls a whole buffer behind is disconnected.
+// Events come from this instance's own commits only: with several instances, a client connected to one never hears
+// about writes made through another, and has to catch up through the task_changes log behind /api/user/tasks/changes.
+@Component
+public class TaskChangeFeed implements MeterBinder, DisposableBean {
+
+    private final Duration timeout;
+    private final int bufferSize;
+    private final Duration reconnectDelay;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("task-feed-", 1).factory());
+
+    private Counter dropped;
+
+    @Autowired
+    public TaskChangeFeed(@Value("${tasks.feed.timeout:PT30M}") Duration timeout,
+                          @Value("${tasks.feed.buffer-size:256}") int bufferSize,
+                          @Value("${tasks.feed.reconnect-delay:PT3S}") Duration reconnectDelay) {
+        this.timeout = timeout;
+        this.bufferSize = bufferSize;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    // The connection ends after the timeout; EventSource clients reconnect on their own after the advertised delay
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        emitter.onCompletion(() -> subscriber.close(false));
+        emitter.onError(error -> subscriber.close(false));
+        emitter.onTimeout(() -> {
+            subscriber.close(false);
+            emitter.complete();
+        });
+
+        // compute keeps this atomic with a last subscriber leaving and removing the user's set
+        subscribers.compute(userId, (id, owned) -> {
+            Set<Subscriber> set = owned == null ? ConcurrentHashMap.newKeySet() : owned;
+            set.add(subscriber);
+            return set;
+        });
+        connections.incrementAndGet();
+        // Sent right away so the response headers are flushed and the client knows it is connected
+        subscriber.offer(SseEmitter.event().comment("connected").reconnectTime(reconnectDelay.toMillis()));
+        return emitter;
+    }
+
+    // Delivered after commit, so clients never see a write that was rolled back
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.userId() != null) {
+            publish(event.userId(), toChange(event));
+        }
+    }
+
+    public void publish(Long userId, TaskChangeDTO change) {
+        Set<Subscriber> owned = subscribers.get(userId);
+        if (owned == null) {
+            return;
+        }
+        for (Subscriber subscriber : owned) {
+            subscriber.offer(SseEmitter.event().name(change.getType()).data(change, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    // Only connections with nothing queued need a heartbeat; busy ones already show proxies they are alive
+    @Scheduled(fixedDelayString = "${tasks.feed.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        for (Set<Subscriber> owned : subscribers.values()) {
+            for (Subscriber subscriber : owned) {
+                if (subscriber.pending.get() == 0) {
+                    subscriber.offer(SseEmitter.event().comment("heartbeat"));
+                }
+            }
+        }
+    }
+
+    public int connections() {
+        return connections.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tasks.feed.connections", connections, AtomicInteger::get)
+                .description("Open task change feed connections")
+                .register(registry);
+        dropped = Counter.builder("tasks.feed.dropped")
+                .description("Feed connections closed because the client fell a whole buffer behind")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.values().forEach(owned -> owned.forEach(subscriber -> subscriber.close(true)));
+        senders.shutdown();
+    }
+
+    static TaskChangeDTO toChange(TaskChangedEvent event) {
+        String type = event.type().name().toLowerCase(Locale.ROOT);
+        return new TaskChangeDTO(type, event.taskId(), event.version(),
+                event.title(), event.description(), event.status());
+    }
+
+    private final class Subscriber {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        private void offer(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            if (pending.incrementAndGet() > bufferSize) {
+                if (dropped != null) {
+                    dropped.increment();
+                }
+                close(true);
+                return;
+            }
+            queue.add(event);
+            scheduleDrain();
+        }
+
+        // At most one sender per connection, so events keep their order without holding a lock while writing
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    close(false);
+                }
+            }
+        }
+
+        private void drain() {
+            do {
+                SseEmitter.SseEventBuilder event;
+                while (!closed.get() && (event = queue.poll()) != null) {
+                    pending.decrementAndGet();
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        // The client went away; the container reports it through onError or onCompletion as well
+                        close(false);
+                    }
+                }
+                draining.set(false);
+                // An event queued between the last poll and the reset above would otherwise wait for the next offer
+            } while (!closed.get() && !queue.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        // Completing may wait for a write in progress, so it is never done on the publishing thread
+        private void close(boolean complete) {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            queue.clear();
+            subscribers.computeIfPresent(userId, (id, owned) -> {
+                owned.remove(this);
+                return owned.isEmpty() ? null : owned;
+            });
+            connections.decrementAndGet();
+            if (complete) {
+                try {
+                    senders.execute(emitter::complete);
+                } catch (RejectedExecutionException e) {
+                    emitter.complete();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.mindhub.todolist.service.impl;
+
+import com.mindhub.todolist.dto.TaskChangeDTO;
+import com.mindhub.todolist.dto.TaskChangesResponseDTO;
+import com.mindhub.todolist.entity.TaskChange;
+import com.mindhub.todolist.entity.TaskChangeCompaction;
+import com.mindhub.todolist.exception.BadRequestException;
+import com.mindhub.todolist.repository.TaskChangeCompactionRepository;
+import com.mindhub.todolist.repository.TaskChangeRepository;
+import com.mindhub.todolist.repository.UserRepository;
+import com.mindhub.todolist.service.TaskChangeService;
+import com.mindhub.todolist.service.TaskChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.mindhub.todolist.config.Constans.INVALID_CHANGE_CURSOR;
+
+@Service
+public class TaskChangeServiceImpl implements TaskChangeService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskChangeServiceImpl.class);
+
+    // Transaction resource key for the owners already locked by the current transaction
+    private static final Object LOCKED_OWNERS = new Object();
+
+    private final TaskChangeRepository taskChangeRepository;
+    private final TaskChangeCompactionRepository compactionRepository;
+    private final UserRepository userRepository;
+
+    @Value("${tasks.page.default-size:50}")
+    private int defaultPageSize = 50;
+
+    @Value("${tasks.page.max-size:500}")
+    private int maxPageSize = 500;
+
+    @Value("${tasks.changes.tombstone-retention:P30D}")
+    private Duration tombstoneRetention = Duration.ofDays(30);
+
+    private Clock clock = Clock.systemUTC();
+
+    @Autowired
+    public TaskChangeServiceImpl(TaskChangeRepository taskChangeRepository, TaskChangeCompactionRepository compactionRepository,
+                                 UserRepository userRepository) {
+        this.taskChangeRepository = taskChangeRepository;
+        this.compactionRepository = compactionRepository;
+        this.userRepository = userRepository;
+    }
+
+    // Runs just before the writing transaction commits, so the row lock below is held as briefly as possible.
+    // Locking the owner makes a user's seqs commit in order: a reader can never see seq n+1 while n is still in flight.
+    @Override
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void record(TaskChangedEvent event) {
+        if (event.userId() == null) {
+            return;
+        }
+        if (lockedOwners().add(event.userId())) {
+            userRepository.lockById(event.userId());
+        }
+        taskChangeRepository.deleteByTaskId(event.taskId());
+        taskChangeRepository.save(new TaskChange(event.userId(), event.taskId(), event.type(), event.version(), clock.instant()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskChangesResponseDTO getChanges(Long userId, Long since, Integer size) {
+        long cursor = since == null ? 0 : since;
+        if (cursor < 0) {
+            throw new BadRequestException(INVALID_CHANGE_CURSOR + since);
+        }
+
+        // A tombstone after the cursor may have been purged, so the changes alone can no longer bring the client up to date
+        long purgedThrough = compactionRepository.findById(TaskChangeCompaction.ID)
+                .map(TaskChangeCompaction::getPurgedThrough)
+                .orElse(0L);
+        if (cursor > 0 && cursor < purgedThrough) {
+            long head = taskChangeRepository.findLastSeqByUserId(userId).orElse(0L);
+            return new TaskChangesResponseDTO(List.of(), Math.max(head, purgedThrough), false, true);
+        }
+
+        int pageSize = pageSize(size);
+        List<TaskChangeDTO> rows = taskChangeRepository.findChangesAfter(userId, cursor, Limit.of(pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<TaskChangeDTO> changes = hasMore ? rows.subList(0, pageSize) : rows;
+        long next = changes.isEmpty() ? cursor : changes.get(changes.size() - 1).getSeq();
+        return new TaskChangesResponseDTO(changes, next, hasMore, false);
+    }
+
+    // Older rows of a task are already replaced on every write; only tombstones accumulate, and those are purged here
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${tasks.changes.compaction-interval:PT1H}")
+    public int compact() {
+        Instant before = clock.instant().minus(tombstoneRetention);
+        Long through = taskChangeRepository.findLastSeqByTypeBefore(TaskChangedEvent.Type.DELETED, before).orElse(null);
+        if (through == null) {
+            return 0;
+        }
+        TaskChangeCompaction compaction = compactionRepository.findById(TaskChangeCompaction.ID)
+                .orElseThrow(() -> new IllegalStateException("Missing task_change_compaction row"));
+        compaction.setPurgedThrough(Math.max(compaction.getPurgedThrough(), through));
+        int purged = taskChangeRepository.deleteByTypeThrough(TaskChangedEvent.Type.DELETED, through);
+        log.info("Purged {} task tombstones up to seq {}", purged, through);
+        return purged;
+    }
+
+    private int pageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<Long> lockedOwners() {
+        Set<Long> owners = (Set<Long>) TransactionSynchronizationManager.getResource(LOCKED_OWNERS);
+        if (owners == null) {
+            owners = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(LOCKED_OWNERS, owners);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(LOCKED_OWNERS);
+                }
+            });
+        }
+        return owners;
+    }
+}
@@ -0,0 +1,375 @@
+package com.mindhub.todolist.service.impl;
+
+import com.mindhub.todolist.dto.TaskSearchDocumentDTO;
+import com.mindhub.todolist.repository.TaskRepository;
+import com.mindhub.todolist.service.TaskChangedEvent;
+import com.mindhub.todolist.service.UserDeletedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// In-memory inverted index over task titles and descriptions, partitioned by owner so a search only ever
+// touches the caller's own postings. Built from the database at startup and kept current from TaskChangedEvents.
+// Single node only: each instance holds its own copy and only hears about its own commits, so with several instances
+// a search misses writes made through the others until a restart rebuilds the index.
+@Component
+public class TaskSearchIndex implements ApplicationRunner, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    static final int TITLE_WEIGHT = 3;
+    static final int DESCRIPTION_WEIGHT = 1;
+    // A term that only starts with the query token counts half as much as an exact match
+    static final double PREFIX_FACTOR = 0.5;
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Map<Long, OwnerIndex> owners = new ConcurrentHashMap<>();
+    private final Map<Long, Long> ownerByTask = new ConcurrentHashMap<>();
+
+    // Deletes seen while the startup scan runs, so a row read before its delete committed is not indexed afterwards
+    private final Set<Long> removedWhileBuilding = ConcurrentHashMap.newKeySet();
+    private volatile boolean building;
+
+    @Autowired
+    public TaskSearchIndex(TaskRepository taskRepository, PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        rebuild();
+    }
+
+    // Live writes keep flowing while the scan runs; versions decide which copy of a task wins
+    public void rebuild() {
+        long start = System.nanoTime();
+        building = true;
+        try {
+            Long indexed = readOnlyTransaction.execute(status -> {
+                try (Stream<TaskSearchDocumentDTO> rows = taskRepository.streamSearchDocuments()) {
+                    return rows.filter(row -> apply(row.getId(), row.getUserId(), row.getVersion(),
+                            row.getTitle(), row.getDescription(), true)).count();
+                }
+            });
+            log.info("Indexed {} tasks for search in {} ms", indexed,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } finally {
+            building = false;
+            removedWhileBuilding.clear();
+        }
+    }
+
+    // Applied after commit, so rolled back writes never reach the index
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.type() == TaskChangedEvent.Type.DELETED) {
+            remove(event.taskId());
+        } else {
+            index(event.taskId(), event.userId(), event.version(), event.title(), event.description());
+        }
+    }
+
+    // The user's tasks were removed by the cascade, which publishes no task events
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        removeOwner(event.userId());
+    }
+
+    public void index(Long taskId, Long userId, Long version, String title, String description) {
+        apply(taskId, userId, version, title, description, false);
+    }
+
+    public void remove(Long taskId) {
+        if (building) {
+            removedWhileBuilding.add(taskId);
+        }
+        Long userId = ownerByTask.remove(taskId);
+        if (userId != null) {
+            owner(userId).remove(taskId);
+        }
+    }
+
+    public void removeOwner(Long userId) {
+        owners.remove(userId);
+        ownerByTask.entrySet().removeIf(entry -> {
+            if (!userId.equals(entry.getValue())) {
+                return false;
+            }
+            if (building) {
+                removedWhileBuilding.add(entry.getKey());
+            }
+            return true;
+        });
+    }
+
+    // Ids of the owner's tasks matching every query token, as a word or a word prefix, best match first
+    public List<Long> search(Long userId, String query, int limit) {
+        OwnerIndex owner = owners.get(userId);
+        List<String> tokens = List.copyOf(new LinkedHashSet<>(tokenize(query)));
+        if (owner == null || tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        return owner.search(tokens, limit);
+    }
+
+    public int size() {
+        return ownerByTask.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tasks.search.index.documents", ownerByTask, Map::size)
+                .description("Tasks held in the in-memory search index")
+                .register(registry);
+        Gauge.builder("tasks.search.index.owners", owners, Map::size)
+                .description("Users with a partition in the in-memory search index")
+                .register(registry);
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        String lowerCase = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lowerCase.length(); i++) {
+            boolean wordChar = i < lowerCase.length() && Character.isLetterOrDigit(lowerCase.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lowerCase.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private boolean apply(Long taskId, Long userId, Long version, String title, String description, boolean fromScan) {
+        if (taskId == null || userId == null) {
+            return false;
+        }
+        Map<String, Integer> weights = new HashMap<>();
+        tokenize(title).forEach(term -> weights.merge(term, TITLE_WEIGHT, Integer::sum));
+        tokenize(description).forEach(term -> weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+
+        if (!owner(userId).put(taskId, version == null ? 0 : version, weights, fromScan ? removedWhileBuilding : Set.of())) {
+            return false;
+        }
+        Long previousOwner = ownerByTask.put(taskId, userId);
+        if (previousOwner != null && !previousOwner.equals(userId)) {
+            owner(previousOwner).remove(taskId);
+        }
+        return true;
+    }
+
+    private OwnerIndex owner(Long userId) {
+        return owners.computeIfAbsent(userId, id -> new OwnerIndex());
+    }
+
+    private record IndexedTask(int ordinal, long version, String[] terms) {
+    }
+
+    // One user's postings. Tasks get dense per-owner ordinals so a search scores into flat arrays instead of boxed maps.
+    // A read-write lock rather than synchronized, so virtual threads are not pinned while waiting.
+    private static final class OwnerIndex {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final TreeMap<String, Postings> terms = new TreeMap<>();
+        private final Map<Long, IndexedTask> tasks = new HashMap<>();
+        private long[] taskIdByOrdinal = new long[4];
+        private int[] freeOrdinals = new int[4];
+        private int freeCount;
+        private int ordinals;
+
+        boolean put(Long taskId, long version, Map<String, Integer> weights, Set<Long> skip) {
+            lock.writeLock().lock();
+            try {
+                IndexedTask existing = tasks.get(taskId);
+                if (skip.contains(taskId) || (existing != null && existing.version() > version)) {
+                    return false;
+                }
+                int ordinal;
+                if (existing != null) {
+                    unlink(existing);
+                    ordinal = existing.ordinal();
+                } else {
+                    ordinal = allocate(taskId);
+                }
+                weights.forEach((term, weight) -> terms.computeIfAbsent(term, t -> new Postings()).put(ordinal, weight));
+                tasks.put(taskId, new IndexedTask(ordinal, version, weights.keySet().toArray(String[]::new)));
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long taskId) {
+            lock.writeLock().lock();
+            try {
+                IndexedTask existing = tasks.remove(taskId);
+                if (existing != null) {
+                    unlink(existing);
+                    release(existing.ordinal());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        // A task must match every token; matched[o] counts the tokens task o has matched so far
+        List<Long> search(List<String> tokens, int limit) {
+            lock.readLock().lock();
+            try {
+                double[] scores = new double[ordinals];
+                int[] matched = new int[ordinals];
+                int documents = tasks.size();
+                for (int token = 0; token < tokens.size(); token++) {
+                    String prefix = tokens.get(token);
+                    boolean any = false;
+                    for (Map.Entry<String, Postings> entry : terms.subMap(prefix, true, prefix + Character.MAX_VALUE, true).entrySet()) {
+                        Postings postings = entry.getValue();
+                        double idf = Math.log(1 + (double) documents / postings.size);
+                        double factor = entry.getKey().length() == prefix.length() ? 1.0 : PREFIX_FACTOR;
+                        for (int i = 0; i < postings.size; i++) {
+                            int ordinal = postings.ordinals[i];
+                            if (matched[ordinal] == token) {
+                                matched[ordinal] = token + 1;
+                            } else if (matched[ordinal] != token + 1) {
+                                continue;
+                            }
+                            scores[ordinal] += postings.weights[i] * idf * factor;
+                            any = true;
+                        }
+                    }
+                    if (!any) {
+                        return List.of();
+                    }
+                }
+                return top(scores, matched, tokens.size(), limit);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        // Bounded heap of ordinals, so ranking costs O(n log limit) rather than sorting every match.
+        // Ties go to the older (lower id) task.
+        private List<Long> top(double[] scores, int[] matched, int required, int limit) {
+            Comparator<Integer> worstFirst = Comparator.<Integer>comparingDouble(o -> scores[o])
+                    .thenComparing(o -> taskIdByOrdinal[o], Comparator.reverseOrder());
+            PriorityQueue<Integer> heap = new PriorityQueue<>(limit + 1, worstFirst);
+            for (int ordinal = 0; ordinal < matched.length; ordinal++) {
+                if (matched[ordinal] != required) {
+                    continue;
+                }
+                if (heap.size() < limit) {
+                    heap.offer(ordinal);
+                } else if (worstFirst.compare(ordinal, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.offer(ordinal);
+                }
+            }
+            Long[] ranked = new Long[heap.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = taskIdByOrdinal[heap.poll()];
+            }
+            return List.of(ranked);
+        }
+
+        private int allocate(long taskId) {
+            int ordinal;
+            if (freeCount > 0) {
+                ordinal = freeOrdinals[--freeCount];
+            } else {
+                if (ordinals == taskIdByOrdinal.length) {
+                    taskIdByOrdinal = Arrays.copyOf(taskIdByOrdinal, ordinals * 2);
+                }
+                ordinal = ordinals++;
+            }
+            taskIdByOrdinal[ordinal] = taskId;
+            return ordinal;
+        }
+
+        private void release(int ordinal) {
+            if (freeCount == freeOrdinals.length) {
+                freeOrdinals = Arrays.copyOf(freeOrdinals, freeCount * 2);
+            }
+            freeOrdinals[freeCount++] = ordinal;
+        }
+
+        private void unlink(IndexedTask indexed) {
+            for (String term : indexed.terms()) {
+                Postings postings = terms.get(term);
+                if (postings != null && postings.remove(indexed.ordinal()) && postings.size == 0) {
+                    terms.remove(term);
+                }
+            }
+        }
+    }
+
+    // Ordinals sorted ascending with their term weight, in parallel primitive arrays to keep a million tasks compact
+    private static final class Postings {
+
+        private int[] ordinals = new int[2];
+        private int[] weights = new int[2];
+        private int size;
+
+        void put(int ordinal, int weight) {
+            int index = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (index >= 0) {
+                weights[index] = weight;
+                return;
+            }
+            int insertAt = -index - 1;
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(ordinals, insertAt, ordinals, insertAt + 1, size - insertAt);
+            System.arraycopy(weights, insertAt, weights, insertAt + 1, size - insertAt);
+            ordinals[insertAt] = ordinal;
+            weights[insertAt] = weight;
+            size++;
+        }
+
+        boolean remove(int ordinal) {
+            int index = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ordinals, index + 1, ordinals, index, size - index - 1);
+            System.arraycopy(weights, index + 1, weights, index, size - index - 1);
+            size--;
+            return true;
+        }
+    }
+}
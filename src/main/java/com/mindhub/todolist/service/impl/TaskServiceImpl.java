@@ -1,104 +1,472 @@
 package com.mindhub.todolist.service.impl;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.mindhub.todolist.dto.TaskListVersionDTO;
+import com.mindhub.todolist.dto.TaskOperationDTO;
+import com.mindhub.todolist.dto.TaskOperationResultDTO;
+import com.mindhub.todolist.dto.TaskOperationType;
+import com.mindhub.todolist.dto.TaskPageResponseDTO;
 import com.mindhub.todolist.dto.TaskRequestDTO;
 import com.mindhub.todolist.dto.TaskResponseDTO;
+import com.mindhub.todolist.dto.TaskSummaryDTO;
+import com.mindhub.todolist.dto.VersionedResponseDTO;
 import com.mindhub.todolist.entity.Task;
 import com.mindhub.todolist.entity.TaskStatus;
+import com.mindhub.todolist.exception.BadRequestException;
 import com.mindhub.todolist.exception.ResourceNotFoundException;
 import com.mindhub.todolist.mapper.TaskMapper;
 import com.mindhub.todolist.repository.TaskRepository;
+import com.mindhub.todolist.repository.UserRepository;
+import com.mindhub.todolist.service.TaskChangedEvent;
 import com.mindhub.todolist.service.TaskService;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static com.mindhub.todolist.config.Constans.BATCH_TOO_LARGE;
+import static com.mindhub.todolist.config.Constans.INVALID_CURSOR;
+import static com.mindhub.todolist.config.Constans.OPERATION_REQUIRED;
+import static com.mindhub.todolist.config.Constans.SEARCH_QUERY_REQUIRED;
+import static com.mindhub.todolist.config.Constans.TASK_DATA_REQUIRED;
+import static com.mindhub.todolist.config.Constans.TASK_ID_REQUIRED;
 import static com.mindhub.todolist.config.Constans.TASK_NOT_FOUND_ID;
 import static com.mindhub.todolist.config.Constans.TASK_NOT_FOUND_TITLE;
+import static com.mindhub.todolist.config.Constans.USER_ID_REQUIRED;
+import static com.mindhub.todolist.config.Constans.USER_NOT_FOUND_ID;
 
 @Service
 public class TaskServiceImpl implements TaskService {
 
+    // SQL standard (PostgreSQL) and H2 states for a missing parent row
+    private static final Set<String> FOREIGN_KEY_VIOLATION_STATES = Set.of("23503", "23506");
+
+    private static final Set<String> PATCHABLE_FIELDS = Set.of("title", "description", "status");
+
     private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
     private final TaskMapper taskMapper;
+    private final NdjsonExportWriter ndjsonExportWriter;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskStatusCounters taskStatusCounters;
+    private final TaskChangeFeed taskChangeFeed;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${tasks.page.default-size:50}")
+    private int defaultPageSize = 50;
+
+    @Value("${tasks.page.max-size:500}")
+    private int maxPageSize = 500;
+
+    @Value("${tasks.batch.max-operations:1000}")
+    private int maxBatchOperations = 1000;
 
     @Autowired
-    public TaskServiceImpl(TaskRepository taskRepository, TaskMapper taskMapper) {
+    public TaskServiceImpl(TaskRepository taskRepository, UserRepository userRepository, TaskMapper taskMapper,
+                           NdjsonExportWriter ndjsonExportWriter, TaskSearchIndex taskSearchIndex,
+                           TaskStatusCounters taskStatusCounters, TaskChangeFeed taskChangeFeed,
+                           ApplicationEventPublisher eventPublisher) {
         this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
         this.taskMapper = taskMapper;
+        this.ndjsonExportWriter = ndjsonExportWriter;
+        this.taskSearchIndex = taskSearchIndex;
+        this.taskStatusCounters = taskStatusCounters;
+        this.taskChangeFeed = taskChangeFeed;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @Transactional
     public TaskResponseDTO createTask(TaskRequestDTO taskRequestDTO) {
-        Task task = taskMapper.toEntity(taskRequestDTO);
-        Task savedTask = taskRepository.save(task);
-        return taskMapper.toResponseDto(savedTask);
+        return createTaskForUser(taskRequestDTO.getUserId(), taskRequestDTO);
     }
 
+    // Attaches the owner as a reference and lets the foreign key reject unknown users, so a create is a single INSERT
     @Override
-    public TaskResponseDTO getTaskById(Long taskId) {
-        return taskRepository.findById(taskId)
-                .map(taskMapper::toResponseDto)
-                .orElseThrow(() -> new ResourceNotFoundException(TASK_NOT_FOUND_ID + taskId));
+    @Transactional
+    public TaskResponseDTO createTaskForUser(Long userId, TaskRequestDTO taskRequestDTO) {
+        if (userId == null) {
+            throw new BadRequestException(USER_ID_REQUIRED);
+        }
+
+        Task task = taskMapper.toEntity(taskRequestDTO, userRepository.getReferenceById(userId));
+        try {
+            Task savedTask = taskRepository.saveAndFlush(task);
+            eventPublisher.publishEvent(TaskChangedEvent.created(savedTask));
+            return taskMapper.toResponseDto(savedTask);
+        } catch (DataIntegrityViolationException e) {
+            if (isForeignKeyViolation(e)) {
+                throw new ResourceNotFoundException(USER_NOT_FOUND_ID + userId);
+            }
+            throw e;
+        }
     }
 
     @Override
-    public List<TaskResponseDTO> getAllTasks() {
-        List<Task> tasks = taskRepository.findAll();
-        return tasks.stream()
-                .map(taskMapper::toResponseDto)
-                .toList();
+    @Transactional(readOnly = true)
+    public TaskResponseDTO getTaskById(Long taskId) {
+        return taskRepository.findResponseById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException(TASK_NOT_FOUND_ID + taskId));
     }
 
     @Override
+    @Transactional
     public TaskResponseDTO updateTask(Long taskId, TaskRequestDTO taskRequestDTO) {
         Task existingTask = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException(TASK_NOT_FOUND_ID + taskId));
 
+        TaskStatus previousStatus = existingTask.getStatus();
         existingTask.setTitle(taskRequestDTO.getTitle());
         existingTask.setDescription(taskRequestDTO.getDescription());
         existingTask.setStatus(taskRequestDTO.getStatus());
 
-        Task updatedTask = taskRepository.save(existingTask);
+        // Flushed so the event carries the version this update wrote
+        Task updatedTask = taskRepository.saveAndFlush(existingTask);
+        eventPublisher.publishEvent(TaskChangedEvent.updated(updatedTask, previousStatus));
         return taskMapper.toResponseDto(updatedTask);
     }
 
     @Override
-    public void deleteTask(Long taskId) {
-        if (!taskRepository.existsById(taskId)) {
-            throw new ResourceNotFoundException(TASK_NOT_FOUND_ID + taskId);
+    @Transactional
+    public VersionedResponseDTO<TaskResponseDTO> patchTask(Long taskId, Long expectedVersion, JsonNode patch) {
+        MergePatch.requireObject(patch, PATCHABLE_FIELDS);
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException(TASK_NOT_FOUND_ID + taskId));
+        return applyPatch(task, expectedVersion, patch);
+    }
+
+    @Override
+    @Transactional
+    public VersionedResponseDTO<TaskResponseDTO> patchTaskForUser(Long userId, Long taskId, Long expectedVersion, JsonNode patch) {
+        if (userId == null) {
+            throw new BadRequestException(USER_ID_REQUIRED);
+        }
+        MergePatch.requireObject(patch, PATCHABLE_FIELDS);
+        Task task = taskRepository.findByIdAndUserId(taskId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException(TASK_NOT_FOUND_ID + taskId));
+        return applyPatch(task, expectedVersion, patch);
+    }
+
+    private VersionedResponseDTO<TaskResponseDTO> applyPatch(Task task, Long expectedVersion, JsonNode patch) {
+        MergePatch.checkVersion(expectedVersion, task.getVersion());
+
+        TaskStatus previousStatus = task.getStatus();
+        boolean changed = MergePatch.apply(patch, "title", MergePatch.text("title"), task::getTitle, task::setTitle);
+        changed |= MergePatch.apply(patch, "description", MergePatch.text("description"), task::getDescription, task::setDescription);
+        changed |= MergePatch.apply(patch, "status", MergePatch.enumValue("status", TaskStatus.class), task::getStatus, task::setStatus);
+
+        // A no-op patch leaves the entity clean, so nothing is written and the version stays put.
+        // Otherwise flush now: the UPDATE carries "where version = ?" and the bumped version goes into the ETag.
+        if (changed) {
+            taskRepository.flush();
+            eventPublisher.publishEvent(TaskChangedEvent.updated(task, previousStatus));
         }
-        taskRepository.deleteById(taskId);
+        return new VersionedResponseDTO<>(taskMapper.toResponseDto(task), task.getVersion());
+    }
+
+    // Loads the row so listeners learn its owner and status; deleteById would have loaded it anyway
+    @Override
+    @Transactional
+    public void deleteTask(Long taskId) {
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException(TASK_NOT_FOUND_ID + taskId));
+        taskRepository.delete(task);
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(task, task.getStatus()));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public TaskResponseDTO getTaskByTitle(String taskTitle) {
-        return taskRepository.findByTitle(taskTitle)
-                .map(taskMapper::toResponseDto)
+        return taskRepository.findResponseByTitle(taskTitle)
                 .orElseThrow(() -> new ResourceNotFoundException(TASK_NOT_FOUND_TITLE + taskTitle));
     }
 
     @Override
-    public List<TaskResponseDTO> getTasksByUserId(Long userId) {
-        return taskRepository.findByUserEntityId(userId)
-                .stream()
-                .map(taskMapper::toResponseDto)
-                .toList();
+    @Transactional(readOnly = true)
+    public TaskPageResponseDTO getAllTasks(String cursor, Integer size) {
+        int pageSize = pageSize(size);
+        return toPage(taskRepository.findResponsePage(decodeCursor(cursor), Limit.of(pageSize + 1)), pageSize);
     }
 
     @Override
-    public List<TaskResponseDTO> getTasksByUsername(String username) {
-        return taskRepository.findByUserEntityUsername(username)
-                .stream()
-                .map(taskMapper::toResponseDto)
-                .toList();
+    @Transactional(readOnly = true)
+    public TaskPageResponseDTO getTasksByUserId(Long userId, String cursor, Integer size) {
+        int pageSize = pageSize(size);
+        return toPage(taskRepository.findResponsePageByUserId(
+                userId, decodeCursor(cursor), Limit.of(pageSize + 1)), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskPageResponseDTO getTasksByUsername(String username, String cursor, Integer size) {
+        int pageSize = pageSize(size);
+        return toPage(taskRepository.findResponsePageByUsername(
+                username, decodeCursor(cursor), Limit.of(pageSize + 1)), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskPageResponseDTO getTasksByUsernameAndStatus(String username, TaskStatus status, String cursor, Integer size) {
+        int pageSize = pageSize(size);
+        return toPage(taskRepository.findResponsePageByUsernameAndStatus(
+                username, status, decodeCursor(cursor), Limit.of(pageSize + 1)), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Long getTaskVersion(Long taskId) {
+        return taskRepository.findVersionById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException(TASK_NOT_FOUND_ID + taskId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskListVersionDTO getTaskListVersionByUserId(Long userId) {
+        return taskRepository.findListVersionByUserId(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskListVersionDTO getTaskListVersionByUsername(String username) {
+        return taskRepository.findListVersionByUsername(username);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskListVersionDTO getTaskListVersionByUsernameAndStatus(String username, TaskStatus status) {
+        return taskRepository.findListVersionByUsernameAndStatus(username, status);
     }
 
+    // Ranked ids come from the in-memory index; rows are then read by primary key, which also drops stale hits
     @Override
-    public List<TaskResponseDTO> getTasksByUsernameAndStatus(String username, TaskStatus status) {
-        return taskRepository.findByUserEntityUsernameAndStatus(username, status)
-                .stream()
-                .map(taskMapper::toResponseDto)
+    @Transactional(readOnly = true)
+    public List<TaskResponseDTO> searchTasks(Long userId, String query, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException(SEARCH_QUERY_REQUIRED);
+        }
+        List<Long> rankedIds = taskSearchIndex.search(userId, query, pageSize(size));
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, TaskResponseDTO> rows = taskRepository.findResponsesByIdsAndUserId(rankedIds, userId).stream()
+                .collect(Collectors.toMap(TaskResponseDTO::getId, Function.identity()));
+        return rankedIds.stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
                 .toList();
     }
+
+    @Override
+    public TaskSummaryDTO getTaskSummary(Long userId) {
+        return new TaskSummaryDTO(taskStatusCounters.countsOf(userId));
+    }
+
+    @Override
+    public SseEmitter subscribeToTaskChanges(Long userId) {
+        return taskChangeFeed.subscribe(userId);
+    }
+
+    @Override
+    @Transactional
+    public List<TaskOperationResultDTO> processTaskBatch(List<TaskOperationDTO> operations) {
+        return processBatch(null, operations);
+    }
+
+    // Creates always go to the caller, and the caller's batch cannot see other users' tasks
+    @Override
+    @Transactional
+    public List<TaskOperationResultDTO> processTaskBatchForUser(Long userId, List<TaskOperationDTO> operations) {
+        if (userId == null) {
+            throw new BadRequestException(USER_ID_REQUIRED);
+        }
+        return processBatch(userId, operations);
+    }
+
+    // Runs every operation in one transaction; tasks and owners are resolved up front and statements are flushed in JDBC batches.
+    // Without an owner the batch is unscoped and creates use the user id of each task.
+    private List<TaskOperationResultDTO> processBatch(Long ownerId, List<TaskOperationDTO> operations) {
+        if (operations == null || operations.isEmpty()) {
+            return List.of();
+        }
+        if (operations.size() > maxBatchOperations) {
+            throw new BadRequestException(BATCH_TOO_LARGE + maxBatchOperations);
+        }
+
+        Set<Long> taskIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        for (TaskOperationDTO operation : operations) {
+            if (operation == null || operation.getOperation() == null) {
+                continue;
+            }
+            if (operation.getOperation() == TaskOperationType.CREATE) {
+                Long userId = ownerId != null ? ownerId
+                        : operation.getTask() != null ? operation.getTask().getUserId() : null;
+                if (userId != null) {
+                    userIds.add(userId);
+                }
+            } else if (operation.getId() != null) {
+                taskIds.add(operation.getId());
+            }
+        }
+
+        Map<Long, Task> tasks = new HashMap<>();
+        Map<Long, TaskStatus> committedStatuses = new HashMap<>();
+        taskRepository.findAllById(taskIds).forEach(task -> {
+            tasks.put(task.getId(), task);
+            committedStatuses.put(task.getId(), task.getStatus());
+        });
+        Set<Long> existingUserIds = userIds.isEmpty() ? Set.of() : userRepository.findExistingIds(userIds);
+
+        List<TaskOperationResultDTO> results = new ArrayList<>(operations.size());
+        Map<Task, TaskChangedEvent.Type> changes = new LinkedHashMap<>();
+        for (int index = 0; index < operations.size(); index++) {
+            results.add(applyOperation(index, operations.get(index), ownerId, tasks, existingUserIds, changes));
+        }
+
+        taskRepository.flush();
+        // Published after the flush so events carry the versions the batch wrote, and grouped by owner so the
+        // change log locks owners in the same order as every other batch
+        changes.entrySet().stream()
+                .map(change -> switch (change.getValue()) {
+                    case CREATED -> TaskChangedEvent.created(change.getKey());
+                    case UPDATED -> TaskChangedEvent.updated(change.getKey(), committedStatuses.get(change.getKey().getId()));
+                    case DELETED -> TaskChangedEvent.deleted(change.getKey(), committedStatuses.get(change.getKey().getId()));
+                })
+                .sorted(Comparator.comparing(TaskChangedEvent::userId, Comparator.nullsLast(Comparator.naturalOrder())))
+                .forEach(eventPublisher::publishEvent);
+        return results;
+    }
+
+    private TaskOperationResultDTO applyOperation(int index, TaskOperationDTO operation, Long ownerId, Map<Long, Task> tasks,
+                                                  Set<Long> existingUserIds, Map<Task, TaskChangedEvent.Type> changes) {
+        if (operation == null || operation.getOperation() == null) {
+            return failure(index, null, HttpStatus.BAD_REQUEST, OPERATION_REQUIRED);
+        }
+
+        TaskOperationType type = operation.getOperation();
+        TaskRequestDTO taskRequestDTO = operation.getTask();
+
+        if (type == TaskOperationType.CREATE) {
+            if (taskRequestDTO == null) {
+                return failure(index, type, HttpStatus.BAD_REQUEST, TASK_DATA_REQUIRED);
+            }
+            Long userId = ownerId != null ? ownerId : taskRequestDTO.getUserId();
+            if (userId == null) {
+                return failure(index, type, HttpStatus.BAD_REQUEST, USER_ID_REQUIRED);
+            }
+            if (!existingUserIds.contains(userId)) {
+                return failure(index, type, HttpStatus.NOT_FOUND, USER_NOT_FOUND_ID + userId);
+            }
+            Task savedTask = taskRepository.save(taskMapper.toEntity(taskRequestDTO, userRepository.getReferenceById(userId)));
+            changes.put(savedTask, TaskChangedEvent.Type.CREATED);
+            return success(index, type, HttpStatus.CREATED, taskMapper.toResponseDto(savedTask));
+        }
+
+        if (operation.getId() == null) {
+            return failure(index, type, HttpStatus.BAD_REQUEST, TASK_ID_REQUIRED);
+        }
+        Task existingTask = tasks.get(operation.getId());
+        // Another user's task is reported exactly like a missing one, so ids cannot be probed
+        if (existingTask == null || (ownerId != null && !ownerId.equals(ownerIdOf(existingTask)))) {
+            return failure(index, type, HttpStatus.NOT_FOUND, TASK_NOT_FOUND_ID + operation.getId());
+        }
+
+        if (type == TaskOperationType.UPDATE) {
+            if (taskRequestDTO == null) {
+                return failure(index, type, HttpStatus.BAD_REQUEST, TASK_DATA_REQUIRED);
+            }
+            existingTask.setTitle(taskRequestDTO.getTitle());
+            existingTask.setDescription(taskRequestDTO.getDescription());
+            existingTask.setStatus(taskRequestDTO.getStatus());
+            changes.putIfAbsent(existingTask, TaskChangedEvent.Type.UPDATED);
+            return success(index, type, HttpStatus.OK, taskMapper.toResponseDto(existingTask));
+        }
+
+        tasks.remove(operation.getId());
+        taskRepository.delete(existingTask);
+        changes.put(existingTask, TaskChangedEvent.Type.DELETED);
+        return success(index, type, HttpStatus.NO_CONTENT, null);
+    }
+
+    private static Long ownerIdOf(Task task) {
+        return task.getUserEntity() != null ? task.getUserEntity().getId() : null;
+    }
+
+    private static TaskOperationResultDTO success(int index, TaskOperationType type, HttpStatus status, TaskResponseDTO task) {
+        return new TaskOperationResultDTO(index, type, status.value(), task, null);
+    }
+
+    private static TaskOperationResultDTO failure(int index, TaskOperationType type, HttpStatus status, String error) {
+        return new TaskOperationResultDTO(index, type, status.value(), null, error);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTasks(OutputStream outputStream) throws IOException {
+        try (Stream<Task> rows = taskRepository.streamAll()) {
+            ndjsonExportWriter.write(rows, taskMapper::toResponseDto, TaskResponseDTO.class, outputStream);
+        }
+    }
+
+    private static boolean isForeignKeyViolation(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException cve
+                && FOREIGN_KEY_VIOLATION_STATES.contains(cve.getSQLState());
+    }
+
+    private int pageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    // One extra row is fetched to know whether another page follows
+    private TaskPageResponseDTO toPage(List<TaskResponseDTO> rows, int pageSize) {
+        boolean hasNext = rows.size() > pageSize;
+        List<TaskResponseDTO> items = hasNext ? List.copyOf(rows.subList(0, pageSize)) : rows;
+
+        String next = hasNext ? encodeCursor(items.get(items.size() - 1).getId()) : null;
+        return new TaskPageResponseDTO(items, next);
+    }
+
+    private static String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(lastId.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(INVALID_CURSOR + cursor);
+        }
+    }
 }
@@ -0,0 +1,144 @@
+package com.mindhub.todolist.service.impl;
+
+import com.mindhub.todolist.dto.TaskStatusCountDTO;
+import com.mindhub.todolist.entity.TaskStatus;
+import com.mindhub.todolist.repository.TaskRepository;
+import com.mindhub.todolist.service.TaskChangedEvent;
+import com.mindhub.todolist.service.UserDeletedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Per-owner task counts by status, so a summary is a handful of array reads instead of a GROUP BY.
+// Seeded from the database before the web server starts and kept current from TaskChangedEvents after commit.
+// The counters only hear about their own instance's commits, so they suit a single node. With in-memory set to false,
+// as several instances need, nothing is kept and every summary runs the grouped count for that one user instead.
+@Component
+public class TaskStatusCounters implements SmartInitializingSingleton, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatusCounters.class);
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean inMemory;
+
+    // One slot per TaskStatus ordinal; owners are independent, so updates only contend within one user
+    private final Map<Long, AtomicLongArray> owners = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TaskStatusCounters(TaskRepository taskRepository, PlatformTransactionManager transactionManager,
+                              @Value("${tasks.summary.in-memory:true}") boolean inMemory) {
+        this.taskRepository = taskRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.inMemory = inMemory;
+    }
+
+    // Runs before any request or runner can write a task, so no delta can be counted twice
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (inMemory) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        List<TaskStatusCountDTO> rows = readOnlyTransaction.execute(status -> taskRepository.countByUserAndStatus());
+        owners.clear();
+        for (TaskStatusCountDTO row : rows) {
+            owner(row.getUserId()).addAndGet(row.getStatus().ordinal(), row.getCount());
+        }
+        log.info("Loaded task status counters for {} users", owners.size());
+    }
+
+    // Applied after commit, so rolled back writes never move a counter
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!inMemory) {
+            return;
+        }
+        move(event.userId(), event.previousStatus(), event.status());
+    }
+
+    // The user's tasks were removed by the cascade, which publishes no task events
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        owners.remove(event.userId());
+    }
+
+    // A task without a status is not counted, so moving from or to null only touches the other side
+    public void move(Long userId, TaskStatus from, TaskStatus to) {
+        if (userId == null || from == to) {
+            return;
+        }
+        AtomicLongArray counts = owner(userId);
+        if (to != null) {
+            counts.incrementAndGet(to.ordinal());
+        }
+        if (from != null) {
+            counts.decrementAndGet(from.ordinal());
+        }
+    }
+
+    // Each slot is read atomically; a status change landing mid-read can at most show one task in both statuses
+    public Map<TaskStatus, Long> countsOf(Long userId) {
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        if (!inMemory) {
+            for (TaskStatus status : STATUSES) {
+                counts.put(status, 0L);
+            }
+            List<TaskStatusCountDTO> rows = readOnlyTransaction.execute(status -> taskRepository.countByStatusForUser(userId));
+            for (TaskStatusCountDTO row : rows) {
+                counts.put(row.getStatus(), row.getCount());
+            }
+            return counts;
+        }
+        AtomicLongArray owner = owners.get(userId);
+        for (TaskStatus status : STATUSES) {
+            counts.put(status, owner == null ? 0L : owner.get(status.ordinal()));
+        }
+        return counts;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!inMemory) {
+            return;
+        }
+        for (TaskStatus status : STATUSES) {
+            Gauge.builder("tasks.status.count", owners, map -> total(map, status))
+                    .description("Tasks in each status across all users, from the in-memory counters")
+                    .tag("status", status.name())
+                    .register(registry);
+        }
+    }
+
+    private AtomicLongArray owner(Long userId) {
+        return owners.computeIfAbsent(userId, id -> new AtomicLongArray(STATUSES.length));
+    }
+
+    private static double total(Map<Long, AtomicLongArray> owners, TaskStatus status) {
+        long total = 0;
+        for (AtomicLongArray counts : owners.values()) {
+            total += counts.get(status.ordinal());
+        }
+        return total;
+    }
+}
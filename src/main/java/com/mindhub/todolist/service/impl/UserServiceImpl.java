@@ -1,16 +1,28 @@
 package com.mindhub.todolist.service.impl;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.mindhub.todolist.config.PrincipalCache;
 import com.mindhub.todolist.dto.UserRequestDTO;
 import com.mindhub.todolist.dto.UserResponseDTO;
+import com.mindhub.todolist.dto.VersionedResponseDTO;
 import com.mindhub.todolist.entity.UserEntity;
 import com.mindhub.todolist.exception.ResourceNotFoundException;
 import com.mindhub.todolist.mapper.UserMapper;
 import com.mindhub.todolist.repository.UserRepository;
+import com.mindhub.todolist.service.UserDeletedEvent;
 import com.mindhub.todolist.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static com.mindhub.todolist.config.Constans.USER_NOT_FOUND_ID;
 import static com.mindhub.todolist.config.Constans.USER_NOT_FOUND_USERNAME;
@@ -18,16 +30,26 @@ import static com.mindhub.todolist.config.Constans.USER_NOT_FOUND_USERNAME;
 @Service
 public class UserServiceImpl implements UserService {
 
+    private static final Set<String> PATCHABLE_FIELDS = Set.of("username", "email");
+
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final PrincipalCache principalCache;
+    private final NdjsonExportWriter ndjsonExportWriter;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper) {
+    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper, PrincipalCache principalCache,
+                           NdjsonExportWriter ndjsonExportWriter, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
+        this.principalCache = principalCache;
+        this.ndjsonExportWriter = ndjsonExportWriter;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @Transactional
     public UserResponseDTO createUser(UserRequestDTO userRequestDTO) {
         UserEntity userEntity = userMapper.toEntity(userRequestDTO);
         UserEntity savedUserEntity = userRepository.save(userEntity);
@@ -35,66 +57,144 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserResponseDTO getUserById(Long userId) {
-        return userRepository.findById(userId)
-                .map(userMapper::toResponseDto)
+        return userRepository.findResponseById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException(USER_NOT_FOUND_ID + userId));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserResponseDTO> getAllUsers() {
-        List<UserEntity> users = userRepository.findAll();
-        return users.stream()
-                .map(userMapper::toResponseDto)
-                .toList();
+        return userRepository.findAllResponses();
     }
 
     @Override
+    @Transactional
     public UserResponseDTO updateUser(Long userId, UserRequestDTO userRequestDTO) {
         UserEntity existingUser = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException(USER_NOT_FOUND_ID + userId));
 
+        String previousUsername = existingUser.getUsername();
         existingUser.setUsername(userRequestDTO.getUsername());
         existingUser.setEmail(userRequestDTO.getEmail());
 
         UserEntity updatedUser = userRepository.save(existingUser);
+        evictAfterCommit(() -> principalCache.evict(previousUsername));
         return userMapper.toResponseDto(updatedUser);
     }
 
     @Override
+    @Transactional
     public UserResponseDTO updateUser(String username, UserRequestDTO userRequestDTO) {
         UserEntity existingUser = userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException(USER_NOT_FOUND_USERNAME + username));
 
+        String previousUsername = existingUser.getUsername();
         existingUser.setUsername(userRequestDTO.getUsername());
         existingUser.setEmail(userRequestDTO.getEmail());
 
         UserEntity updatedUser = userRepository.save(existingUser);
+        evictAfterCommit(() -> principalCache.evict(previousUsername));
         return userMapper.toResponseDto(updatedUser);
     }
 
     @Override
+    @Transactional
+    public VersionedResponseDTO<UserResponseDTO> patchUser(Long userId, Long expectedVersion, JsonNode patch) {
+        MergePatch.requireObject(patch, PATCHABLE_FIELDS);
+        UserEntity existingUser = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException(USER_NOT_FOUND_ID + userId));
+        return applyPatch(existingUser, expectedVersion, patch);
+    }
+
+    @Override
+    @Transactional
+    public VersionedResponseDTO<UserResponseDTO> patchUser(String username, Long expectedVersion, JsonNode patch) {
+        MergePatch.requireObject(patch, PATCHABLE_FIELDS);
+        UserEntity existingUser = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException(USER_NOT_FOUND_USERNAME + username));
+        return applyPatch(existingUser, expectedVersion, patch);
+    }
+
+    @Override
+    @Transactional
     public void deleteUser(Long userId) {
         if (!userRepository.existsById(userId)) {
             throw new ResourceNotFoundException(USER_NOT_FOUND_ID + userId);
         }
         userRepository.deleteById(userId);
+        eventPublisher.publishEvent(new UserDeletedEvent(userId));
+        evictAfterCommit(() -> principalCache.evictById(userId));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserResponseDTO getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .map(userMapper::toResponseDto)
+        return userRepository.findResponseByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException(USER_NOT_FOUND_USERNAME + username));
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Long getUserVersion(Long userId) {
+        return userRepository.findVersionById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException(USER_NOT_FOUND_ID + userId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Long getUserVersionByUsername(String username) {
+        return userRepository.findVersionByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException(USER_NOT_FOUND_USERNAME + username));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public boolean checkIfEmailExists(String email) {
         return userRepository.existsByEmail(email);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public long countUsersByEmail(String email) {
         return userRepository.countByEmail(email);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportUsers(OutputStream outputStream) throws IOException {
+        try (Stream<UserEntity> rows = userRepository.streamAll()) {
+            ndjsonExportWriter.write(rows, userMapper::toResponseDto, UserResponseDTO.class, outputStream);
+        }
+    }
+
+    // Only changed columns are written (the entity uses dynamic updates) and a no-op patch writes nothing
+    private VersionedResponseDTO<UserResponseDTO> applyPatch(UserEntity existingUser, Long expectedVersion, JsonNode patch) {
+        MergePatch.checkVersion(expectedVersion, existingUser.getVersion());
+
+        String previousUsername = existingUser.getUsername();
+        boolean changed = MergePatch.apply(patch, "username", MergePatch.text("username"), existingUser::getUsername, existingUser::setUsername);
+        changed |= MergePatch.apply(patch, "email", MergePatch.text("email"), existingUser::getEmail, existingUser::setEmail);
+
+        if (changed) {
+            userRepository.flush();
+            evictAfterCommit(() -> principalCache.evict(previousUsername));
+        }
+        return new VersionedResponseDTO<>(userMapper.toResponseDto(existingUser), existingUser.getVersion());
+    }
+
+    // Until commit other requests still read the old row, so evicting earlier would let them cache it again for the whole TTL
+    private static void evictAfterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
 }
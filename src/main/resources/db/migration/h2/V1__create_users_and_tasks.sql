@@ -0,0 +1,26 @@
+create table users (
+    id       bigint generated by default as identity primary key,
+    username varchar(50)  not null,
+    password varchar(255) not null,
+    email    varchar(255) not null,
+    roles    integer      default 0 not null,
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email)
+);
+
+create sequence tasks_seq start with 1 increment by 50;
+
+create table tasks (
+    id          bigint primary key,
+    title       varchar(255),
+    description varchar(255),
+    status      varchar(255),
+    user_id     bigint not null,
+    constraint fk_tasks_user foreign key (user_id) references users (id),
+    constraint ck_tasks_status check (status in ('PENDING', 'IN_PROGRESS', 'COMPLETED'))
+);
+
+-- Indexes shaped after the TaskRepository access paths
+create index idx_tasks_user_id_id on tasks (user_id, id);
+create index idx_tasks_user_id_status on tasks (user_id, status, id);
+create index idx_tasks_title on tasks (title);
@@ -0,0 +1,15 @@
+create table refresh_tokens (
+    id         bigint generated by default as identity primary key,
+    token_hash varchar(64)              not null,
+    family_id  varchar(36)              not null,
+    user_id    bigint                   not null,
+    expires_at timestamp with time zone not null,
+    used_at    timestamp with time zone,
+    revoked    boolean default false    not null,
+    constraint uk_refresh_tokens_token_hash unique (token_hash),
+    constraint fk_refresh_tokens_user foreign key (user_id) references users (id) on delete cascade
+);
+
+create index idx_refresh_tokens_family_id on refresh_tokens (family_id);
+create index idx_refresh_tokens_user_id on refresh_tokens (user_id);
+create index idx_refresh_tokens_expires_at on refresh_tokens (expires_at);
@@ -0,0 +1,2 @@
+alter table users add column version bigint default 0 not null;
+alter table tasks add column version bigint default 0 not null;
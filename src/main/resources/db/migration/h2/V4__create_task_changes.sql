@@ -0,0 +1,27 @@
+-- Append-only log of task writes, one row per task after compaction; seq is the sync cursor handed to clients
+create table task_changes (
+    seq        bigint generated by default as identity primary key,
+    user_id    bigint                   not null,
+    task_id    bigint                   not null,
+    type       varchar(16)              not null,
+    version    bigint                   not null,
+    changed_at timestamp with time zone not null,
+    constraint fk_task_changes_user foreign key (user_id) references users (id) on delete cascade,
+    constraint ck_task_changes_type check (type in ('CREATED', 'UPDATED', 'DELETED'))
+);
+
+create index idx_task_changes_user_id_seq on task_changes (user_id, seq);
+create index idx_task_changes_task_id on task_changes (task_id);
+create index idx_task_changes_type_changed_at on task_changes (type, changed_at);
+
+-- Highest seq of a purged tombstone: cursors below it may have missed a delete and must resync
+create table task_change_compaction (
+    id             integer primary key,
+    purged_through bigint not null
+);
+
+insert into task_change_compaction (id, purged_through) values (1, 0);
+
+-- Existing tasks enter the log once, so a first sync from zero returns all of them
+insert into task_changes (user_id, task_id, type, version, changed_at)
+select user_id, id, 'UPDATED', version, current_timestamp from tasks order by id;
@@ -0,0 +1,67 @@
+package com.mindhub.todolist.benchmark;
+
+import com.mindhub.todolist.config.JwtTokenProvider;
+import com.mindhub.todolist.entity.Role;
+import com.mindhub.todolist.entity.UserEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 2, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = Base64.getEncoder()
+            .encodeToString("0123456789abcdef0123456789abcdef0123456789abcdef".getBytes());
+
+    private JwtTokenProvider cachingProvider;
+    private JwtTokenProvider nonCachingProvider;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingProvider = new JwtTokenProvider(SECRET, 10000);
+        nonCachingProvider = new JwtTokenProvider(SECRET, 0);
+        ReflectionTestUtils.setField(cachingProvider, "expiration", 3600000L);
+        ReflectionTestUtils.setField(nonCachingProvider, "expiration", 3600000L);
+
+        UserEntity userEntity = new UserEntity();
+        userEntity.setId(1L);
+        userEntity.setUsername("benchmark");
+        userEntity.setRoles(EnumSet.of(Role.USER));
+        authentication = new UsernamePasswordAuthenticationToken(userEntity, null, userEntity.getAuthorities());
+
+        token = cachingProvider.generateToken(authentication);
+        cachingProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validateTokenCached() {
+        return cachingProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateTokenUncached() {
+        return nonCachingProvider.validateToken(token);
+    }
+}
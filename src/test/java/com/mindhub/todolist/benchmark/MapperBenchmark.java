@@ -0,0 +1,74 @@
+package com.mindhub.todolist.benchmark;
+
+import com.mindhub.todolist.dto.TaskRequestDTO;
+import com.mindhub.todolist.dto.TaskResponseDTO;
+import com.mindhub.todolist.dto.UserRequestDTO;
+import com.mindhub.todolist.dto.UserResponseDTO;
+import com.mindhub.todolist.entity.Task;
+import com.mindhub.todolist.entity.TaskStatus;
+import com.mindhub.todolist.entity.UserEntity;
+import com.mindhub.todolist.mapper.TaskMapper;
+import com.mindhub.todolist.mapper.UserMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+// Mapping cost only; password hashing is measured in PasswordEncoderBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 2, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class MapperBenchmark {
+
+    private TaskMapper taskMapper;
+    private UserMapper userMapper;
+    private Task task;
+    private TaskRequestDTO taskRequestDTO;
+    private UserEntity owner;
+    private UserRequestDTO userRequestDTO;
+
+    @Setup
+    @SuppressWarnings("deprecation")
+    public void setUp() {
+        taskMapper = new TaskMapper();
+        userMapper = new UserMapper(NoOpPasswordEncoder.getInstance());
+
+        owner = new UserEntity();
+        owner.setId(1L);
+        owner.setUsername("benchmark");
+        owner.setEmail("benchmark@email.com");
+
+        task = new Task("Title", "Description", TaskStatus.PENDING, owner);
+        task.setId(1L);
+        taskRequestDTO = new TaskRequestDTO("Title", "Description", TaskStatus.PENDING, 1L);
+        userRequestDTO = new UserRequestDTO("benchmark", "benchmark@email.com", "Passw0rd#");
+    }
+
+    @Benchmark
+    public TaskResponseDTO taskToResponseDto() {
+        return taskMapper.toResponseDto(task);
+    }
+
+    @Benchmark
+    public Task taskToEntity() {
+        return taskMapper.toEntity(taskRequestDTO, owner);
+    }
+
+    @Benchmark
+    public UserResponseDTO userToResponseDto() {
+        return userMapper.toResponseDto(owner);
+    }
+
+    @Benchmark
+    public UserEntity userToEntity() {
+        return userMapper.toEntity(userRequestDTO);
+    }
+}
@@ -0,0 +1,132 @@
+package com.mindhub.todolist.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindhub.todolist.TodoListApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Boots the whole application on the H2 profile and fires bursts of concurrent authenticated requests,
+// once with the default Tomcat thread pool and once with spring.threads.virtual.enabled
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgs = {"-Xmx1g", "-Djdk.tracePinnedThreads=short"})
+public class RequestModeLoadBenchmark {
+
+    private static final int SEEDED_TASKS = 20;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"1000", "2000"})
+    public int clients;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient httpClient;
+    private HttpRequest listTasks;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        byte[] secret = new byte[48];
+        new SecureRandom().nextBytes(secret);
+
+        // Passed as command line arguments so they win over application.properties
+        context = new SpringApplicationBuilder(TodoListApplication.class)
+                .run("--spring.profiles.active=h2",
+                        "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_ON_EXIT=FALSE",
+                        "--server.port=0",
+                        "--server.tomcat.max-connections=" + (clients * 2),
+                        "--jwt.secret=" + Base64.getEncoder().encodeToString(secret),
+                        "--jwt.expiration=3600000",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--logging.level.root=WARN");
+
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder()
+                .executor(clientExecutor)
+                .build();
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        String token = objectMapper.readTree(send(HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                objectMapper.writeValueAsString(Map.of("username", "David", "password", "123456"))))
+                        .build()))
+                .get("accessToken").asText();
+
+        for (int i = 0; i < SEEDED_TASKS; i++) {
+            send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/user"))
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            objectMapper.writeValueAsString(Map.of("title", "Task " + i, "description", "Load test", "status", "PENDING"))))
+                    .build());
+        }
+
+        listTasks = HttpRequest.newBuilder(URI.create(baseUrl + "/api/user/tasks"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clientExecutor.close();
+        context.close();
+    }
+
+    // One operation is a burst of `clients` simultaneous requests; the score is the time until the last one completes
+    @Benchmark
+    public int burst() {
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            responses.add(httpClient.sendAsync(listTasks, HttpResponse.BodyHandlers.discarding()));
+        }
+
+        int ok = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            if (response.join().statusCode() == 200) {
+                ok++;
+            }
+        }
+        if (ok != clients) {
+            throw new IllegalStateException((clients - ok) + " of " + clients + " requests failed");
+        }
+        return ok;
+    }
+
+    private String send(HttpRequest request) throws Exception {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException(request.uri() + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,105 @@
+package com.mindhub.todolist.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.mindhub.todolist.dto.TaskResponseDTO;
+import com.mindhub.todolist.dto.UserResponseDTO;
+import com.mindhub.todolist.entity.TaskStatus;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// CPU per response and bytes on the wire for each encoding the API can negotiate: plain JSON as before, JSON and the
+// binary formats with Blackbird as the application now configures them, each optionally gzipped the way
+// server.compression does. The size of each response is reported as the bytesPerResponse secondary result.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 2, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class ResponseEncodingBenchmark {
+
+    public enum Format {
+        JSON_REFLECTION(new ObjectMapper()),
+        JSON(new ObjectMapper().registerModule(new BlackbirdModule())),
+        SMILE(new ObjectMapper(new SmileFactory()).registerModule(new BlackbirdModule())),
+        CBOR(new ObjectMapper(new CBORFactory()).registerModule(new BlackbirdModule()));
+
+        private final ObjectMapper mapper;
+
+        Format(ObjectMapper mapper) {
+            this.mapper = mapper;
+        }
+    }
+
+    @Param({"JSON_REFLECTION", "JSON", "SMILE", "CBOR"})
+    private Format format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    @Param({"tasks", "users"})
+    private String payload;
+
+    @Param({"1000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private List<?> rows;
+
+    @Setup
+    public void setUp() throws IOException {
+        TaskStatus[] statuses = TaskStatus.values();
+        List<Object> data = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            data.add(payload.equals("tasks")
+                    ? new TaskResponseDTO((long) i, "Task " + i, "Description of task " + i, statuses[i % statuses.length])
+                    : new UserResponseDTO((long) i, "user" + i, "user" + i + "@email.com"));
+        }
+        rows = data;
+        writer = format.mapper.writerFor(format.mapper.getTypeFactory().constructCollectionType(List.class,
+                payload.equals("tasks") ? TaskResponseDTO.class : UserResponseDTO.class));
+    }
+
+    @Benchmark
+    public byte[] encode(ResponseSize responseSize) throws IOException {
+        byte[] body = encode();
+        responseSize.bytesPerResponse = body.length;
+        return body;
+    }
+
+    private byte[] encode() throws IOException {
+        if (!gzip) {
+            return writer.writeValueAsBytes(rows);
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (GZIPOutputStream compressed = new GZIPOutputStream(buffer)) {
+            writer.writeValue(compressed, rows);
+        }
+        return buffer.toByteArray();
+    }
+
+    // EVENTS counters are reported as they stand rather than divided by time; every call writes the same size
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ResponseSize {
+
+        public long bytesPerResponse;
+    }
+}
@@ -0,0 +1,51 @@
+package com.mindhub.todolist.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mindhub.todolist.dto.TaskResponseDTO;
+import com.mindhub.todolist.entity.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 2, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class TaskJsonSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private List<TaskResponseDTO> tasks;
+
+    @Setup
+    public void setUp() {
+        writer = new ObjectMapper().writerFor(new TypeReference<List<TaskResponseDTO>>() {
+        });
+
+        TaskStatus[] statuses = TaskStatus.values();
+        tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tasks.add(new TaskResponseDTO((long) i, "Task " + i, "Description of task " + i, statuses[i % statuses.length]));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeTaskList() throws JsonProcessingException {
+        return writer.writeValueAsBytes(tasks);
+    }
+}
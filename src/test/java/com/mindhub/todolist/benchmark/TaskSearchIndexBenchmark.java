@@ -0,0 +1,83 @@
+package com.mindhub.todolist.benchmark;
+
+import com.mindhub.todolist.repository.TaskRepository;
+import com.mindhub.todolist.service.impl.TaskSearchIndex;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Search latency percentiles over one million indexed tasks, for an owner with a typical and with a very large list
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class TaskSearchIndexBenchmark {
+
+    private static final int TOTAL_TASKS = 1_000_000;
+    private static final String[] SYLLABLES = {"ta", "re", "mo", "li", "ka", "su", "ne", "po", "di", "ga", "ve", "ro", "mi", "lu", "be", "sa"};
+
+    @Param({"1000", "50000"})
+    public int tasksPerOwner;
+
+    private TaskSearchIndex index;
+    private String[] vocabulary;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new TaskSearchIndex(Mockito.mock(TaskRepository.class), Mockito.mock(PlatformTransactionManager.class));
+        random = new SplittableRandom(42);
+        vocabulary = new String[5000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = SYLLABLES[i % 16] + SYLLABLES[(i / 16) % 16] + SYLLABLES[(i / 256) % 16] + (i / 4096);
+        }
+        for (long id = 1; id <= TOTAL_TASKS; id++) {
+            long owner = (id - 1) / tasksPerOwner + 1;
+            index.index(id, owner, 0L, words(4), words(12));
+        }
+    }
+
+    // Owner 1 always holds exactly tasksPerOwner tasks
+    @Benchmark
+    public List<Long> singleWord() {
+        return index.search(1L, word(), 50);
+    }
+
+    @Benchmark
+    public List<Long> shortPrefix() {
+        return index.search(1L, SYLLABLES[random.nextInt(16)], 50);
+    }
+
+    @Benchmark
+    public List<Long> twoWordsWithPrefix() {
+        String prefix = word();
+        return index.search(1L, word() + " " + prefix.substring(0, 4), 50);
+    }
+
+    private String words(int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(word()).append(' ');
+        }
+        return text.toString();
+    }
+
+    // Skewed towards the start of the vocabulary, so a few words are very common as in real text
+    private String word() {
+        double skewed = Math.pow(random.nextDouble(), 3);
+        return vocabulary[(int) (skewed * vocabulary.length)];
+    }
+}
@@ -0,0 +1,49 @@
+package com.mindhub.todolist.benchmark;
+
+import com.mindhub.todolist.dto.UserRequestDTO;
+import com.mindhub.todolist.exception.UserEntityValidator;
+import jakarta.validation.ConstraintViolationException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 2, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class UserEntityValidatorBenchmark {
+
+    private UserEntityValidator validator;
+    private UserRequestDTO validUser;
+    private UserRequestDTO invalidUser;
+
+    @Setup
+    public void setUp() {
+        validator = new UserEntityValidator();
+        validUser = new UserRequestDTO("benchmark", "benchmark@email.com", "Passw0rd#");
+        invalidUser = new UserRequestDTO("", "not-an-email", "");
+    }
+
+    @Benchmark
+    public UserRequestDTO validateValidUser() {
+        validator.validate(validUser);
+        return validUser;
+    }
+
+    @Benchmark
+    public int validateInvalidUser() {
+        try {
+            validator.validate(invalidUser);
+            return 0;
+        } catch (ConstraintViolationException e) {
+            return e.getConstraintViolations().size();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.mindhub.todolist.config;
+
+import com.mindhub.todolist.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @AfterEach
+    void tearDown() {
+        passwordEncoder.destroy();
+    }
+
+    @Test
+    void encodeAndMatches_shouldDelegate() {
+        // Arrange
+        PasswordEncoder prefixing = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return "encoded:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+        passwordEncoder = new BoundedPasswordEncoder(prefixing, 1, 1, Duration.ofSeconds(1));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        passwordEncoder.bindTo(registry);
+
+        // Act
+        String encoded = passwordEncoder.encode("secret");
+        boolean matches = passwordEncoder.matches("secret", encoded);
+
+        // Assert
+        assertEquals("encoded:secret", encoded);
+        assertTrue(matches);
+        assertEquals(1, registry.get("password.hashing.duration").tag("operation", "encode").timer().count());
+        assertEquals(1, registry.get("password.hashing.duration").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void encode_shouldRejectWhenPoolAndQueueAreFull() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+        passwordEncoder = new BoundedPasswordEncoder(blocking, 1, 1, Duration.ofSeconds(2));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        passwordEncoder.bindTo(registry);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("second"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("executor.queued").gauge().value() < 1 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+
+        // Act
+        ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+                () -> passwordEncoder.encode("third"));
+        release.countDown();
+
+        // Assert
+        assertEquals(Duration.ofSeconds(2), exception.getRetryAfter());
+        assertEquals("first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("second", queued.get(5, TimeUnit.SECONDS));
+        assertEquals(1.0, registry.get("password.hashing.rejected").counter().count());
+    }
+}
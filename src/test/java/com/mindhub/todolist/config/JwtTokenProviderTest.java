@@ -0,0 +1,104 @@
+package com.mindhub.todolist.config;
+
+import com.mindhub.todolist.entity.Role;
+import com.mindhub.todolist.entity.UserEntity;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = Base64.getEncoder()
+            .encodeToString("0123456789abcdef0123456789abcdef0123456789abcdef".getBytes());
+
+    private JwtTokenProvider tokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider(SECRET, 100);
+        ReflectionTestUtils.setField(tokenProvider, "expiration", 60000L);
+    }
+
+    private String tokenFor(String username) {
+        UserEntity userEntity = new UserEntity();
+        userEntity.setId(7L);
+        userEntity.setUsername(username);
+        userEntity.setRoles(EnumSet.of(Role.USER));
+        return tokenProvider.generateToken(new UsernamePasswordAuthenticationToken(userEntity, null));
+    }
+
+    @Test
+    void verify_shouldReturnClaims_whenTokenIsValid() {
+        // Arrange
+        String token = tokenFor("testuser");
+
+        // Act
+        Optional<Claims> claims = tokenProvider.verify(token);
+
+        // Assert
+        assertTrue(claims.isPresent());
+        assertEquals("testuser", claims.get().getSubject());
+    }
+
+    @Test
+    void verify_shouldServeRepeatedTokensFromCache() {
+        // Arrange
+        String token = tokenFor("testuser");
+
+        // Act
+        tokenProvider.verify(token);
+        tokenProvider.verify(token);
+
+        // Assert
+        assertEquals(1, tokenProvider.claimsCacheStats().hitCount());
+    }
+
+    @Test
+    void verify_shouldReturnEmpty_whenSignatureIsTampered() {
+        // Arrange
+        String token = tokenFor("testuser");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // Act & Assert
+        assertTrue(tokenProvider.verify(tampered).isEmpty());
+        assertFalse(tokenProvider.validateToken("not-a-token"));
+    }
+
+    @Test
+    void verify_shouldReturnEmpty_whenTokenHasExpired() {
+        // Arrange
+        ReflectionTestUtils.setField(tokenProvider, "expiration", -1000L);
+        String token = tokenFor("testuser");
+
+        // Act & Assert
+        assertTrue(tokenProvider.verify(token).isEmpty());
+    }
+
+    @Test
+    void toPrincipal_shouldRebuildPrincipalFromClaims() {
+        // Arrange
+        Claims claims = tokenProvider.verify(tokenFor("testuser")).orElseThrow();
+
+        // Act
+        Optional<JwtPrincipal> principal = tokenProvider.toPrincipal(claims);
+
+        // Assert
+        assertTrue(principal.isPresent());
+        assertEquals(7L, principal.get().getId());
+        assertEquals("testuser", principal.get().getUsername());
+        assertEquals(Set.of("ROLE_USER"), principal.get().getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet()));
+    }
+}
@@ -0,0 +1,115 @@
+package com.mindhub.todolist.config;
+
+import com.mindhub.todolist.exception.TooManyRequestsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginAttemptLimiterTest {
+
+    private AtomicLong now;
+    private LoginAttemptLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong();
+        limiter = new LoginAttemptLimiter(Duration.ofMinutes(5), 3, 10,
+                Duration.ofSeconds(30), Duration.ofMinutes(4), 1000, now::get);
+    }
+
+    @Test
+    void checkAllowed_shouldBlockUsernameAfterMaxFailures() {
+        // Arrange
+        limiter.recordFailure("testuser", "10.0.0.1");
+        limiter.recordFailure("testuser", "10.0.0.2");
+        limiter.checkAllowed("testuser", "10.0.0.3");
+
+        // Act
+        limiter.recordFailure("TestUser", "10.0.0.3");
+
+        // Assert
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> limiter.checkAllowed("testuser", "10.0.0.4"));
+        assertEquals(Duration.ofSeconds(30), exception.getRetryAfter());
+        assertDoesNotThrow(() -> limiter.checkAllowed("otheruser", "10.0.0.4"));
+    }
+
+    @Test
+    void checkAllowed_shouldDoubleBackoffOnRepeatedBreaches() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            limiter.recordFailure("testuser", "10.0.0.1");
+        }
+        advance(Duration.ofSeconds(30));
+        limiter.checkAllowed("testuser", "10.0.0.1");
+
+        // Act
+        limiter.recordFailure("testuser", "10.0.0.1");
+
+        // Assert
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> limiter.checkAllowed("testuser", "10.0.0.1"));
+        assertEquals(Duration.ofSeconds(60), exception.getRetryAfter());
+    }
+
+    @Test
+    void checkAllowed_shouldBlockAddressAcrossUsernames() {
+        // Arrange
+        for (int i = 0; i < 10; i++) {
+            limiter.recordFailure("user" + i, "10.0.0.1");
+        }
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, () -> limiter.checkAllowed("fresh", "10.0.0.1"));
+        assertDoesNotThrow(() -> limiter.checkAllowed("fresh", "10.0.0.2"));
+    }
+
+    @Test
+    void recordFailure_shouldLetOldFailuresSlideOutOfTheWindow() {
+        // Arrange
+        limiter.recordFailure("testuser", "10.0.0.1");
+        limiter.recordFailure("testuser", "10.0.0.1");
+        advance(Duration.ofMinutes(9));
+
+        // Act
+        limiter.recordFailure("testuser", "10.0.0.1");
+
+        // Assert
+        assertDoesNotThrow(() -> limiter.checkAllowed("testuser", "10.0.0.1"));
+    }
+
+    @Test
+    void recordSuccess_shouldClearUsernameHistory() {
+        // Arrange
+        limiter.recordFailure("testuser", "10.0.0.1");
+        limiter.recordFailure("testuser", "10.0.0.1");
+
+        // Act
+        limiter.recordSuccess("testuser");
+        limiter.recordFailure("testuser", "10.0.0.1");
+
+        // Assert
+        assertDoesNotThrow(() -> limiter.checkAllowed("testuser", "10.0.0.1"));
+    }
+
+    @Test
+    void size_shouldEvictIdleKeys() {
+        // Arrange
+        limiter.recordFailure("testuser", "10.0.0.1");
+        assertEquals(2, limiter.size());
+
+        // Act
+        advance(Duration.ofMinutes(11));
+
+        // Assert
+        assertEquals(0, limiter.size());
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,126 @@
+package com.mindhub.todolist.config;
+
+import com.mindhub.todolist.entity.Role;
+import com.mindhub.todolist.entity.UserEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrincipalCacheTest {
+
+    private PrincipalCache principalCache;
+    private AtomicInteger loads;
+    private Function<String, UserDetails> loader;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new PrincipalCache(100, Duration.ofMinutes(5));
+        loads = new AtomicInteger();
+        loader = username -> {
+            loads.incrementAndGet();
+            UserEntity userEntity = new UserEntity();
+            userEntity.setId(1L);
+            userEntity.setUsername(username);
+            userEntity.setPassword("hash");
+            userEntity.setRoles(EnumSet.of(Role.ADMIN));
+            return userEntity;
+        };
+    }
+
+    @Test
+    void get_shouldLoadOnceAndServeFromCache() {
+        // Arrange
+        Date expiration = new Date(System.currentTimeMillis() + 60000);
+
+        // Act
+        UserDetails first = principalCache.get("testuser", expiration, loader);
+        UserDetails second = principalCache.get("testuser", expiration, loader);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, principalCache.stats().hitCount());
+        assertEquals(1, principalCache.stats().missCount());
+    }
+
+    @Test
+    void get_shouldCacheOnlyIdUsernameAndAuthorities() {
+        // Arrange
+        Date expiration = new Date(System.currentTimeMillis() + 60000);
+
+        // Act
+        JwtPrincipal principal = principalCache.get("testuser", expiration, loader);
+
+        // Assert
+        assertEquals(1L, principal.getId());
+        assertEquals("testuser", principal.getUsername());
+        assertNull(principal.getPassword());
+        assertEquals(Role.authoritiesOf(Role.ADMIN.getBit()), principal.getAuthorities());
+    }
+
+    @Test
+    void get_shouldReload_whenTokenHasAlreadyExpired() {
+        // Arrange
+        Date expiration = new Date(System.currentTimeMillis() - 1000);
+
+        // Act
+        principalCache.get("testuser", expiration, loader);
+        principalCache.get("testuser", expiration, loader);
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evict_shouldForceReload() {
+        // Arrange
+        Date expiration = new Date(System.currentTimeMillis() + 60000);
+        principalCache.get("testuser", expiration, loader);
+
+        // Act
+        principalCache.evict("testuser");
+        principalCache.get("testuser", expiration, loader);
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evictById_shouldRemoveMatchingPrincipal() {
+        // Arrange
+        Date expiration = new Date(System.currentTimeMillis() + 60000);
+        principalCache.get("testuser", expiration, loader);
+
+        // Act
+        principalCache.evictById(1L);
+
+        // Assert
+        assertEquals(0, principalCache.size());
+    }
+
+    @Test
+    void get_shouldNotCacheAPrincipalLoadedWhileItWasEvicted() {
+        // Arrange: the user is updated and evicted while this request is still loading the old row
+        Date expiration = new Date(System.currentTimeMillis() + 60000);
+        Function<String, UserDetails> racingLoader = username -> {
+            UserDetails stale = loader.apply(username);
+            principalCache.evictById(1L);
+            return stale;
+        };
+
+        // Act
+        principalCache.get("testuser", expiration, racingLoader);
+        principalCache.get("testuser", expiration, loader);
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,170 @@
+package com.mindhub.todolist.config;
+
+import com.mindhub.todolist.dto.UserResponseDTO;
+import com.mindhub.todolist.repository.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Two H2 databases stand in for the primary and the replica; each holds the same user under a different name,
+// so the name read back shows which one served the transaction
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary",
+        "spring.datasource.replica.url=jdbc:h2:mem:routing-replica",
+        "spring.datasource.replica.stickiness=PT1M"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ReplicaDataSourceConfig.class)
+@ActiveProfiles("h2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReplicaRoutingDataSourceTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private HikariDataSource replicaDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        // Flyway only migrates the primary; a real replica would receive the schema through replication
+        Flyway.configure().dataSource(replicaDataSource).locations("classpath:db/migration/h2").load().migrate();
+        seed(primaryDataSource, "primary");
+        seed(replicaDataSource, "replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransaction_shouldUseTheReplicaForSignedInUsers() {
+        // Arrange
+        signIn(1L);
+
+        // Act & Assert
+        assertEquals("replica", readUsername(true));
+    }
+
+    @Test
+    void readOnlyTransaction_shouldUseThePrimaryWithoutAUser() {
+        // Act & Assert
+        assertEquals("primary", readUsername(true));
+    }
+
+    @Test
+    void readWriteTransaction_shouldUseThePrimaryAndPinTheUserAfterCommit() {
+        // Arrange
+        signIn(2L);
+
+        // Act
+        String readWrite = readUsername(false);
+
+        // Assert
+        assertEquals("primary", readWrite);
+        assertEquals("primary", readUsername(true));
+        signIn(3L);
+        assertEquals("replica", readUsername(true));
+    }
+
+    @Test
+    void rolledBackTransaction_shouldNotPinTheUser() {
+        // Arrange
+        signIn(4L);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        // Act
+        readWrite.executeWithoutResult(status -> {
+            userRepository.findResponseById(1L);
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        assertEquals("replica", readUsername(true));
+    }
+
+    @Test
+    void readWriteTransaction_shouldUseThePrimaryWhenTheSessionAlreadyReadFromTheReplica() {
+        // Arrange: one EntityManager bound across both transactions, the way a session spanning a request would be
+        signIn(5L);
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            assertEquals("replica", readUsername(true));
+
+            // Act
+            TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+            String readWriteUsername = readWrite.execute(status -> {
+                entityManager.createQuery("update UserEntity u set u.email = 'changed@email.com' where u.id = 1")
+                        .executeUpdate();
+                return userRepository.findResponseById(1L).map(UserResponseDTO::getUsername).orElseThrow();
+            });
+
+            // Assert
+            assertEquals("primary", readWriteUsername);
+            assertEquals("changed@email.com", email(primaryDataSource));
+            assertEquals("replica@email.com", email(replicaDataSource));
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+    }
+
+    private String readUsername(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> userRepository.findResponseById(1L)
+                .map(UserResponseDTO::getUsername)
+                .orElseThrow());
+    }
+
+    private static void signIn(Long userId) {
+        JwtPrincipal principal = new JwtPrincipal(userId, "user" + userId, Set.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    private static String email(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject("select email from users where id = 1", String.class);
+    }
+
+    private static void seed(DataSource dataSource, String username) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("delete from users where id = 1");
+        jdbcTemplate.update("insert into users (id, username, password, email, roles) values (1, ?, 'secret', ?, 1)",
+                username, username + "@email.com");
+    }
+}
@@ -1,14 +1,18 @@
 package com.mindhub.todolist.controller;
 
+import com.mindhub.todolist.dto.TaskPageResponseDTO;
 import com.mindhub.todolist.dto.TaskRequestDTO;
 import com.mindhub.todolist.dto.TaskResponseDTO;
+import com.mindhub.todolist.dto.VersionedResponseDTO;
 import com.mindhub.todolist.entity.TaskStatus;
+import com.mindhub.todolist.exception.GlobalException;
 import com.mindhub.todolist.service.TaskService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -17,12 +21,16 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -39,7 +47,9 @@ class TaskControllerTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        mockMvc = MockMvcBuilders.standaloneSetup(taskController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(taskController)
+                .setControllerAdvice(new GlobalException())
+                .build();
     }
 
     @Test
@@ -75,15 +85,60 @@ class TaskControllerTest {
         TaskResponseDTO taskResponseDTO = new TaskResponseDTO(); // Initialize with appropriate values
         taskResponseDTO.setTitle("Task 1");
 
+        when(taskService.getTaskVersion(taskId)).thenReturn(3L);
         when(taskService.getTaskById(taskId)).thenReturn(taskResponseDTO);
 
         // Act & Assert
         mockMvc.perform(get("/api/tasks/{id}", taskId))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-3\""))
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.title").value("Task 1"));
     }
 
+    @Test
+    void getTaskById_shouldReturnNotModified_whenETagMatches() throws Exception {
+        // Arrange
+        Long taskId = 1L;
+        when(taskService.getTaskVersion(taskId)).thenReturn(3L);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/tasks/{id}", taskId).header(HttpHeaders.IF_NONE_MATCH, "W/\"1-2\", \"1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-3\""))
+                .andExpect(content().string(""));
+        verify(taskService, never()).getTaskById(taskId);
+    }
+
+    @Test
+    void patchTask_shouldPassIfMatchVersionAndReturnNewETag() throws Exception {
+        // Arrange
+        TaskResponseDTO taskResponseDTO = new TaskResponseDTO();
+        taskResponseDTO.setTitle("Patched");
+
+        when(taskService.patchTask(eq(1L), eq(3L), any())).thenReturn(new VersionedResponseDTO<>(taskResponseDTO, 4L));
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/tasks/{id}", 1L)
+                        .header(HttpHeaders.IF_MATCH, "W/\"1-3\"")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"title\":\"Patched\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-4\""))
+                .andExpect(jsonPath("$.title").value("Patched"));
+    }
+
+    @Test
+    void patchTask_shouldReturnPreconditionFailed_whenIfMatchNamesAnotherResource() throws Exception {
+        // Act & Assert
+        mockMvc.perform(patch("/api/tasks/{id}", 1L)
+                        .header(HttpHeaders.IF_MATCH, "\"2-3\"")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"title\":\"Patched\"}"))
+                .andExpect(status().isPreconditionFailed());
+        verify(taskService, never()).patchTask(any(), any(), any());
+    }
+
     @Test
     void getAllTasks_shouldReturnListOfTasks() throws Exception {
         // Arrange
@@ -92,14 +147,29 @@ class TaskControllerTest {
         task1.setTitle("Task 1");
         task2.setTitle("Task 2");
 
-        when(taskService.getAllTasks()).thenReturn(List.of(task1, task2));
+        when(taskService.getAllTasks(null, null)).thenReturn(new TaskPageResponseDTO(List.of(task1, task2), null));
 
         // Act & Assert
         mockMvc.perform(get("/api/tasks"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$[0].title").value("Task 1"))
-                .andExpect(jsonPath("$[1].title").value("Task 2"));
+                .andExpect(jsonPath("$.items[0].title").value("Task 1"))
+                .andExpect(jsonPath("$.items[1].title").value("Task 2"));
+    }
+
+    @Test
+    void getAllTasks_shouldPassCursorAndSize_andReturnNextCursor() throws Exception {
+        // Arrange
+        TaskResponseDTO task = new TaskResponseDTO();
+        task.setTitle("Task 3");
+
+        when(taskService.getAllTasks("Mg", 1)).thenReturn(new TaskPageResponseDTO(List.of(task), "Mw"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/tasks").param("cursor", "Mg").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Task 3"))
+                .andExpect(jsonPath("$.next").value("Mw"));
     }
 
     @Test
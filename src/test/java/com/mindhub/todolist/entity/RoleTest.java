@@ -0,0 +1,56 @@
+package com.mindhub.todolist.entity;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoleTest {
+
+    @Test
+    void mask_shouldRoundTripRoles() {
+        // Arrange
+        EnumSet<Role> roles = EnumSet.of(Role.USER, Role.ADMIN);
+
+        // Act
+        int mask = Role.toMask(roles);
+
+        // Assert
+        assertEquals(3, mask);
+        assertEquals(roles, Role.fromMask(mask));
+        assertEquals(EnumSet.noneOf(Role.class), Role.fromMask(0));
+    }
+
+    @Test
+    void authoritiesOf_shouldReturnSharedImmutableSets() {
+        // Act
+        Set<GrantedAuthority> authorities = Role.authoritiesOf(Role.ADMIN.getBit());
+
+        // Assert
+        assertEquals(Set.of("ROLE_ADMIN"), authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet()));
+        assertSame(authorities, Role.authoritiesOf(Role.ADMIN.getBit()));
+        assertThrows(UnsupportedOperationException.class, () -> authorities.add(Role.USER.getAuthority()));
+    }
+
+    @Test
+    void userEntity_shouldExposeRolesAsAuthorities() {
+        // Arrange
+        UserEntity userEntity = new UserEntity();
+
+        // Act
+        userEntity.setRoles(EnumSet.of(Role.USER));
+
+        // Assert
+        assertTrue(userEntity.hasRole(Role.USER));
+        assertFalse(userEntity.hasRole(Role.ADMIN));
+        assertEquals(Set.of(Role.USER.getAuthority()), userEntity.getAuthorities());
+        assertEquals(Role.USER, Role.fromAuthority("ROLE_USER").orElseThrow());
+        assertTrue(Role.fromAuthority("ROLE_UNKNOWN").isEmpty());
+    }
+}
@@ -0,0 +1,166 @@
+package com.mindhub.todolist.repository;
+
+import com.mindhub.todolist.entity.TaskStatus;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs EXPLAIN on the SQL behind each filtered TaskRepository query, with the values the query was called with,
+// and checks H2's planner picks the index shaped for it. Plans are only checked on H2; the PostgreSQL scripts are
+// held to declaring exactly the same indexes.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.mindhub.todolist.repository.TaskRepositoryIndexTest$CapturingInspector")
+@ActiveProfiles("h2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskRepositoryIndexTest {
+
+    private static final Pattern CREATE_INDEX = Pattern.compile(
+            "create\\s+(?:unique\\s+)?index\\s+(\\w+)\\s+on\\s+(\\w+)\\s*\\(([^)]*)\\)", Pattern.CASE_INSENSITIVE);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        CapturingInspector.STATEMENTS.clear();
+        if (jdbcTemplate.queryForObject("select count(*) from users", Long.class) > 0) {
+            return;
+        }
+
+        // Seeded once and committed, so the planner sees realistic row counts
+        for (long userId = 1; userId <= 20; userId++) {
+            jdbcTemplate.update("insert into users (id, username, password, email, roles) values (?, ?, ?, ?, 1)",
+                    userId, "user" + userId, "secret", "user" + userId + "@email.com");
+        }
+        List<Object[]> tasks = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            tasks.add(new Object[]{id, "Task " + id, "Description", TaskStatus.values()[(int) (id % 3)].name(), id % 20 + 1});
+        }
+        jdbcTemplate.batchUpdate("insert into tasks (id, title, description, status, user_id) values (?, ?, ?, ?, ?)", tasks);
+        jdbcTemplate.execute("analyze");
+    }
+
+    @Test
+    void findResponseById_shouldUsePrimaryKey() {
+        assertIndexed(() -> taskRepository.findResponseById(1L), "primary_key", 1L);
+    }
+
+    @Test
+    void findByIdAndUserId_shouldUsePrimaryKeyAndOnlyMatchTheOwner() {
+        // Task 1 is seeded for user 2
+        assertIndexed(() -> assertTrue(taskRepository.findByIdAndUserId(1L, 2L).isPresent()), "primary_key", 1L, 2L);
+        assertTrue(taskRepository.findByIdAndUserId(1L, 1L).isEmpty());
+    }
+
+    @Test
+    void findResponseByTitle_shouldUseTitleIndex() {
+        assertIndexed(() -> taskRepository.findResponseByTitle("Task 1"), "idx_tasks_title", "Task 1");
+    }
+
+    @Test
+    void findResponsePage_shouldUsePrimaryKey() {
+        assertIndexed(() -> taskRepository.findResponsePage(1000L, Limit.of(50)), "primary_key", 1000L, 50);
+    }
+
+    @Test
+    void findResponsePageByUserId_shouldUseOwnerIndex() {
+        assertIndexed(() -> taskRepository.findResponsePageByUserId(1L, 0L, Limit.of(50)), "idx_tasks_user_id_id", 1L, 0L, 50);
+    }
+
+    @Test
+    void findResponsePageByUsername_shouldUseOwnerIndex() {
+        assertIndexed(() -> taskRepository.findResponsePageByUsername("user1", 0L, Limit.of(50)),
+                "idx_tasks_user_id_id", "user1", 0L, 50);
+    }
+
+    @Test
+    void findResponsePageByUsernameAndStatus_shouldUseOwnerAndStatusIndex() {
+        assertIndexed(() -> taskRepository.findResponsePageByUsernameAndStatus("user1", TaskStatus.PENDING, 0L, Limit.of(50)),
+                "idx_tasks_user_id_status", "user1", TaskStatus.PENDING.name(), 0L, 50);
+    }
+
+    @Test
+    void countByStatusForUser_shouldUseOwnerAndStatusIndex() {
+        assertIndexed(() -> taskRepository.countByStatusForUser(1L), "idx_tasks_user_id_status", 1L);
+    }
+
+    @Test
+    void migrations_shouldDeclareTheSameIndexesForEveryVendor() throws IOException {
+        // Act
+        Set<String> h2 = indexes("h2");
+        Set<String> postgresql = indexes("postgresql");
+
+        // Assert
+        assertFalse(h2.isEmpty());
+        assertEquals(h2, postgresql);
+    }
+
+    // Parameters are bound in the order they appear in the generated SQL
+    private void assertIndexed(Runnable query, String expectedIndex, Object... parameters) {
+        // Act
+        query.run();
+
+        // Assert
+        assertEquals(1, CapturingInspector.STATEMENTS.size(), () -> "Expected one statement: " + CapturingInspector.STATEMENTS);
+        String sql = CapturingInspector.STATEMENTS.get(0);
+        String plan = jdbcTemplate.query("explain " + sql,
+                preparedStatement -> {
+                    assertEquals(parameters.length, preparedStatement.getParameterMetaData().getParameterCount(), sql);
+                    for (int i = 0; i < parameters.length; i++) {
+                        preparedStatement.setObject(i + 1, parameters[i]);
+                    }
+                },
+                resultSet -> resultSet.next() ? resultSet.getString(1) : "");
+        String normalized = plan.toLowerCase(Locale.ROOT);
+        assertTrue(normalized.contains(expectedIndex), () -> "Expected " + expectedIndex + " in plan:\n" + plan);
+        assertFalse(normalized.contains("tablescan"), () -> "Sequential scan in plan:\n" + plan);
+    }
+
+    private static Set<String> indexes(String vendor) throws IOException {
+        Set<String> indexes = new TreeSet<>();
+        Resource[] scripts = new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/" + vendor + "/*.sql");
+        for (Resource script : scripts) {
+            Matcher matcher = CREATE_INDEX.matcher(script.getContentAsString(StandardCharsets.UTF_8));
+            while (matcher.find()) {
+                indexes.add((matcher.group(1) + " on " + matcher.group(2) + " (" + matcher.group(3).replaceAll("\\s+", "") + ")")
+                        .toLowerCase(Locale.ROOT));
+            }
+        }
+        return indexes;
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.mindhub.todolist.service.impl;
+
+import com.mindhub.todolist.entity.RefreshToken;
+import com.mindhub.todolist.exception.UnauthorizedException;
+import com.mindhub.todolist.repository.RefreshTokenRepository;
+import com.mindhub.todolist.service.RefreshTokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenServiceImplTest {
+
+    private static final Instant NOW = Instant.parse("2024-08-01T10:00:00Z");
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @InjectMocks
+    private RefreshTokenServiceImpl refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(refreshTokenService, "clock", Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void issue_shouldStoreOnlyTheHashWithExpiration() {
+        // Act
+        String token = refreshTokenService.issue(1L);
+
+        // Assert
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertNotEquals(token, saved.getValue().getTokenHash());
+        assertEquals(64, saved.getValue().getTokenHash().length());
+        assertEquals(1L, saved.getValue().getUserId());
+        assertEquals(NOW.plus(Duration.ofDays(30)), saved.getValue().getExpiresAt());
+    }
+
+    @Test
+    void rotate_shouldConsumeTokenAndIssueSuccessorInSameFamily() {
+        // Arrange
+        RefreshToken current = storedToken();
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+        when(refreshTokenRepository.markUsed(10L, NOW)).thenReturn(1);
+
+        // Act
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("presented");
+
+        // Assert
+        assertEquals(1L, rotation.userId());
+        assertNotEquals("presented", rotation.refreshToken());
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertEquals("family", saved.getValue().getFamilyId());
+        verify(refreshTokenRepository, never()).revokeFamily(anyString());
+    }
+
+    @Test
+    void rotate_shouldRevokeFamilyWhenTokenIsReused() {
+        // Arrange
+        RefreshToken current = storedToken();
+        current.setUsedAt(NOW.minusSeconds(60));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate("presented"));
+        verify(refreshTokenRepository).revokeFamily("family");
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_shouldRevokeFamilyWhenConcurrentRefreshWon() {
+        // Arrange
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(storedToken()));
+        when(refreshTokenRepository.markUsed(10L, NOW)).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate("presented"));
+        verify(refreshTokenRepository).revokeFamily("family");
+    }
+
+    @Test
+    void rotate_shouldRejectExpiredRevokedOrUnknownTokens() {
+        // Arrange
+        RefreshToken expired = storedToken();
+        expired.setExpiresAt(NOW);
+        RefreshToken revoked = storedToken();
+        revoked.setRevoked(true);
+        when(refreshTokenRepository.findByTokenHash(anyString()))
+                .thenReturn(Optional.of(expired))
+                .thenReturn(Optional.of(revoked))
+                .thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate("expired"));
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate("revoked"));
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate("unknown"));
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate(" "));
+        verify(refreshTokenRepository, never()).markUsed(any(), any());
+    }
+
+    private static RefreshToken storedToken() {
+        RefreshToken token = new RefreshToken("hash", "family", 1L, NOW.plus(Duration.ofDays(1)));
+        token.setId(10L);
+        return token;
+    }
+}
@@ -0,0 +1,130 @@
+package com.mindhub.todolist.service.impl;
+
+import com.mindhub.todolist.entity.Task;
+import com.mindhub.todolist.entity.TaskStatus;
+import com.mindhub.todolist.entity.UserEntity;
+import com.mindhub.todolist.service.TaskChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class TaskChangeFeedTest {
+
+    private TaskChangeFeed feed;
+
+    @AfterEach
+    void tearDown() {
+        feed.destroy();
+    }
+
+    @Test
+    void onTaskChanged_shouldPushEventsOnlyToTheOwnersConnections() throws Exception {
+        // Arrange
+        MockMvc mockMvc = mockMvc(256);
+        MockHttpServletResponse owner = subscribe(mockMvc, 7L);
+        MockHttpServletResponse other = subscribe(mockMvc, 8L);
+        awaitContent(owner, content -> content.contains(":connected"));
+
+        // Act
+        feed.onTaskChanged(TaskChangedEvent.created(task(1L, 7L, "Buy milk", TaskStatus.PENDING)));
+        feed.onTaskChanged(TaskChangedEvent.deleted(task(2L, 7L, "Old", TaskStatus.COMPLETED), TaskStatus.COMPLETED));
+
+        // Assert
+        String events = awaitContent(owner, content -> content.contains("event:deleted"));
+        assertTrue(events.contains("event:created\ndata:{\"type\":\"created\",\"id\":1,\"version\":0,\"title\":\"Buy milk\",\"status\":\"PENDING\"}"));
+        assertTrue(events.contains("event:deleted\ndata:{\"type\":\"deleted\",\"id\":2,\"version\":0}"));
+        assertTrue(events.indexOf("event:created") < events.indexOf("event:deleted"));
+        assertFalse(other.getContentAsString().contains("event:"));
+        assertEquals(2, feed.connections());
+    }
+
+    @Test
+    void heartbeat_shouldWriteACommentToIdleConnections() throws Exception {
+        // Arrange
+        MockMvc mockMvc = mockMvc(256);
+        MockHttpServletResponse response = subscribe(mockMvc, 7L);
+        awaitContent(response, content -> content.contains(":connected"));
+
+        // Act
+        feed.heartbeat();
+
+        // Assert
+        awaitContent(response, content -> content.contains(":heartbeat"));
+    }
+
+    @Test
+    void subscribe_shouldDropConnectionsThatOverflowTheirBuffer() throws Exception {
+        // Arrange
+        MockMvc mockMvc = mockMvc(0);
+
+        // Act
+        subscribe(mockMvc, 7L);
+
+        // Assert
+        assertEquals(0, feed.connections());
+    }
+
+    private MockMvc mockMvc(int bufferSize) {
+        feed = new TaskChangeFeed(Duration.ofMinutes(1), bufferSize, Duration.ofSeconds(3));
+        return MockMvcBuilders.standaloneSetup(new FeedController(feed)).build();
+    }
+
+    private static MockHttpServletResponse subscribe(MockMvc mockMvc, Long userId) throws Exception {
+        return mockMvc.perform(get("/feed/{userId}", userId))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    // Events are written by the feed's sender threads, so the response fills in shortly after publishing
+    private static String awaitContent(MockHttpServletResponse response, Predicate<String> condition) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        String content = response.getContentAsString();
+        while (!condition.test(content)) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for events, got: " + content);
+            Thread.sleep(10);
+            content = response.getContentAsString();
+        }
+        return content;
+    }
+
+    private static Task task(Long id, Long userId, String title, TaskStatus status) {
+        UserEntity owner = new UserEntity();
+        owner.setId(userId);
+        Task task = new Task();
+        task.setId(id);
+        task.setUserEntity(owner);
+        task.setTitle(title);
+        task.setStatus(status);
+        task.setVersion(0L);
+        return task;
+    }
+
+    @RestController
+    static class FeedController {
+
+        private final TaskChangeFeed feed;
+
+        FeedController(TaskChangeFeed feed) {
+            this.feed = feed;
+        }
+
+        @GetMapping("/feed/{userId}")
+        SseEmitter feed(@PathVariable("userId") Long userId) {
+            return feed.subscribe(userId);
+        }
+    }
+}
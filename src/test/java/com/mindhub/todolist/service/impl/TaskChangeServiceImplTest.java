@@ -0,0 +1,185 @@
+package com.mindhub.todolist.service.impl;
+
+import com.mindhub.todolist.dto.TaskChangeDTO;
+import com.mindhub.todolist.dto.TaskChangesResponseDTO;
+import com.mindhub.todolist.entity.Task;
+import com.mindhub.todolist.entity.TaskChange;
+import com.mindhub.todolist.entity.TaskChangeCompaction;
+import com.mindhub.todolist.entity.TaskStatus;
+import com.mindhub.todolist.entity.UserEntity;
+import com.mindhub.todolist.exception.BadRequestException;
+import com.mindhub.todolist.repository.TaskChangeCompactionRepository;
+import com.mindhub.todolist.repository.TaskChangeRepository;
+import com.mindhub.todolist.repository.UserRepository;
+import com.mindhub.todolist.service.TaskChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TaskChangeServiceImplTest {
+
+    private static final Instant NOW = Instant.parse("2024-08-01T10:00:00Z");
+
+    @Mock
+    private TaskChangeRepository taskChangeRepository;
+
+    @Mock
+    private TaskChangeCompactionRepository compactionRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private TaskChangeServiceImpl taskChangeService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(taskChangeService, "clock", Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Completes the simulated transaction so nothing stays bound to the test thread
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void record_shouldReplaceTheTasksEntryAndLockEachOwnerOncePerTransaction() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        taskChangeService.record(TaskChangedEvent.created(task(1L, 7L)));
+        taskChangeService.record(TaskChangedEvent.deleted(task(2L, 7L), TaskStatus.PENDING));
+
+        // Assert
+        verify(userRepository, times(1)).lockById(7L);
+        verify(taskChangeRepository).deleteByTaskId(1L);
+        verify(taskChangeRepository).deleteByTaskId(2L);
+        ArgumentCaptor<TaskChange> saved = ArgumentCaptor.forClass(TaskChange.class);
+        verify(taskChangeRepository, times(2)).save(saved.capture());
+        assertEquals(TaskChangedEvent.Type.DELETED, saved.getAllValues().get(1).getType());
+        assertEquals(7L, saved.getAllValues().get(1).getUserId());
+        assertEquals(NOW, saved.getAllValues().get(1).getChangedAt());
+    }
+
+    @Test
+    void getChanges_shouldReturnOnePageAndTheCursorOfItsLastEntry() {
+        // Arrange
+        when(compactionRepository.findById(TaskChangeCompaction.ID)).thenReturn(Optional.of(compaction(0L)));
+        when(taskChangeRepository.findChangesAfter(7L, 10L, Limit.of(3))).thenReturn(List.of(
+                change(11L, TaskChangedEvent.Type.UPDATED, 1L),
+                change(14L, TaskChangedEvent.Type.DELETED, 2L),
+                change(15L, TaskChangedEvent.Type.CREATED, 3L)));
+
+        // Act
+        TaskChangesResponseDTO result = taskChangeService.getChanges(7L, 10L, 2);
+
+        // Assert
+        assertEquals(List.of(11L, 14L), result.getChanges().stream().map(TaskChangeDTO::getSeq).toList());
+        assertEquals(14L, result.getCursor());
+        assertTrue(result.isHasMore());
+        assertFalse(result.isResyncRequired());
+    }
+
+    @Test
+    void getChanges_shouldKeepTheCursorWhenNothingChanged() {
+        // Arrange
+        when(compactionRepository.findById(TaskChangeCompaction.ID)).thenReturn(Optional.of(compaction(0L)));
+        when(taskChangeRepository.findChangesAfter(any(), any(), any())).thenReturn(List.of());
+
+        // Act
+        TaskChangesResponseDTO result = taskChangeService.getChanges(7L, 42L, null);
+
+        // Assert
+        assertEquals(List.of(), result.getChanges());
+        assertEquals(42L, result.getCursor());
+        assertFalse(result.isHasMore());
+    }
+
+    @Test
+    void getChanges_shouldRequireResyncWhenTombstonesAfterTheCursorWerePurged() {
+        // Arrange
+        when(compactionRepository.findById(TaskChangeCompaction.ID)).thenReturn(Optional.of(compaction(100L)));
+        when(taskChangeRepository.findLastSeqByUserId(7L)).thenReturn(Optional.of(250L));
+
+        // Act
+        TaskChangesResponseDTO result = taskChangeService.getChanges(7L, 40L, null);
+
+        // Assert
+        assertTrue(result.isResyncRequired());
+        assertEquals(250L, result.getCursor());
+        assertEquals(List.of(), result.getChanges());
+        verify(taskChangeRepository, never()).findChangesAfter(any(), any(), any());
+    }
+
+    @Test
+    void getChanges_shouldRejectNegativeCursor() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> taskChangeService.getChanges(7L, -1L, null));
+        verifyNoInteractions(taskChangeRepository);
+    }
+
+    @Test
+    void compact_shouldPurgeOldTombstonesAndRaiseTheWatermark() {
+        // Arrange
+        TaskChangeCompaction compaction = compaction(20L);
+        Instant before = NOW.minus(Duration.ofDays(30));
+        when(taskChangeRepository.findLastSeqByTypeBefore(TaskChangedEvent.Type.DELETED, before)).thenReturn(Optional.of(90L));
+        when(compactionRepository.findById(TaskChangeCompaction.ID)).thenReturn(Optional.of(compaction));
+        when(taskChangeRepository.deleteByTypeThrough(TaskChangedEvent.Type.DELETED, 90L)).thenReturn(5);
+
+        // Act
+        int purged = taskChangeService.compact();
+
+        // Assert
+        assertEquals(5, purged);
+        assertEquals(90L, compaction.getPurgedThrough());
+    }
+
+    private static Task task(Long id, Long userId) {
+        UserEntity owner = new UserEntity();
+        owner.setId(userId);
+        Task task = new Task();
+        task.setId(id);
+        task.setUserEntity(owner);
+        task.setStatus(TaskStatus.PENDING);
+        task.setVersion(0L);
+        return task;
+    }
+
+    private static TaskChangeDTO change(Long seq, TaskChangedEvent.Type type, Long taskId) {
+        return new TaskChangeDTO(seq, type, taskId, 0L, null, null, null);
+    }
+
+    private static TaskChangeCompaction compaction(Long purgedThrough) {
+        TaskChangeCompaction compaction = new TaskChangeCompaction();
+        compaction.setId(TaskChangeCompaction.ID);
+        compaction.setPurgedThrough(purgedThrough);
+        return compaction;
+    }
+}
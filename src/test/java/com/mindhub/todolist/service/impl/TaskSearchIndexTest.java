@@ -0,0 +1,160 @@
+package com.mindhub.todolist.service.impl;
+
+import com.mindhub.todolist.dto.TaskSearchDocumentDTO;
+import com.mindhub.todolist.repository.TaskRepository;
+import com.mindhub.todolist.service.UserDeletedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class TaskSearchIndexTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TaskSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        index = new TaskSearchIndex(taskRepository, transactionManager);
+    }
+
+    @Test
+    void tokenize_shouldLowerCaseAndSplitOnNonWordCharacters() {
+        // Act
+        List<String> tokens = TaskSearchIndex.tokenize("Buy MILK, eggs & bread-2x!");
+
+        // Assert
+        assertEquals(List.of("buy", "milk", "eggs", "bread", "2x"), tokens);
+    }
+
+    @Test
+    void search_shouldMatchPrefixesAndRankTitleAndExactMatchesFirst() {
+        // Arrange
+        index.index(1L, 7L, 0L, "Weekly report", "send the groceries list");
+        index.index(2L, 7L, 0L, "Groceries", "milk and eggs");
+        index.index(3L, 7L, 0L, "Call the grocer", null);
+        index.index(4L, 7L, 0L, "Plan holidays", "nothing related");
+
+        // Act
+        List<Long> ids = index.search(7L, "GROCER", 10);
+
+        // Assert
+        assertEquals(List.of(3L, 2L, 1L), ids);
+        assertEquals(List.of(2L, 1L), index.search(7L, "groceries", 10));
+    }
+
+    @Test
+    void search_shouldRequireEveryQueryToken() {
+        // Arrange
+        index.index(1L, 7L, 0L, "Buy milk", "at the corner shop");
+        index.index(2L, 7L, 0L, "Buy bread", null);
+
+        // Act
+        List<Long> ids = index.search(7L, "buy mil", 10);
+
+        // Assert
+        assertEquals(List.of(1L), ids);
+        assertEquals(List.of(), index.search(7L, "buy cheese", 10));
+    }
+
+    @Test
+    void onUserDeleted_shouldDropTheOwnersPartition() {
+        // Arrange
+        index.index(1L, 7L, 0L, "Buy milk", null);
+        index.index(2L, 7L, 0L, "Buy bread", null);
+        index.index(3L, 8L, 0L, "Buy milk", null);
+
+        // Act
+        index.onUserDeleted(new UserDeletedEvent(7L));
+
+        // Assert
+        assertEquals(List.of(), index.search(7L, "buy", 10));
+        assertEquals(List.of(3L), index.search(8L, "milk", 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void search_shouldOnlySeeTheCallersTasks() {
+        // Arrange
+        index.index(1L, 7L, 0L, "Buy milk", null);
+        index.index(2L, 8L, 0L, "Buy milk", null);
+
+        // Act & Assert
+        assertEquals(List.of(1L), index.search(7L, "milk", 10));
+        assertEquals(List.of(2L), index.search(8L, "milk", 10));
+        assertEquals(List.of(), index.search(9L, "milk", 10));
+    }
+
+    @Test
+    void index_shouldReplaceTermsOnUpdateAndIgnoreOlderVersions() {
+        // Arrange
+        index.index(1L, 7L, 1L, "Buy milk", null);
+
+        // Act
+        index.index(1L, 7L, 2L, "Buy bread", null);
+        index.index(1L, 7L, 1L, "Buy milk", null);
+
+        // Assert
+        assertEquals(List.of(), index.search(7L, "milk", 10));
+        assertEquals(List.of(1L), index.search(7L, "bread", 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void remove_shouldDropTaskFromResults() {
+        // Arrange
+        index.index(1L, 7L, 0L, "Buy milk", null);
+        index.index(2L, 7L, 0L, "Buy bread", null);
+
+        // Act
+        index.remove(1L);
+
+        // Assert
+        assertEquals(List.of(2L), index.search(7L, "buy", 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void search_shouldReturnAtMostLimitResults() {
+        // Arrange
+        for (long id = 1; id <= 20; id++) {
+            index.index(id, 7L, 0L, "Task " + id, null);
+        }
+
+        // Act
+        List<Long> ids = index.search(7L, "task", 5);
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids);
+    }
+
+    @Test
+    void rebuild_shouldKeepNewerLiveVersions() {
+        // Arrange
+        index.index(1L, 7L, 3L, "Buy bread", null);
+        when(taskRepository.streamSearchDocuments()).thenReturn(Stream.of(
+                new TaskSearchDocumentDTO(1L, 7L, 2L, "Buy milk", null),
+                new TaskSearchDocumentDTO(2L, 7L, 0L, "Walk the dog", null)));
+
+        // Act
+        index.rebuild();
+
+        // Assert
+        assertEquals(List.of(1L), index.search(7L, "bread", 10));
+        assertEquals(List.of(), index.search(7L, "milk", 10));
+        assertEquals(List.of(2L), index.search(7L, "dog", 10));
+    }
+}
@@ -1,23 +1,45 @@
 package com.mindhub.todolist.service.impl;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindhub.todolist.dto.TaskOperationDTO;
+import com.mindhub.todolist.dto.TaskOperationResultDTO;
+import com.mindhub.todolist.dto.TaskOperationType;
+import com.mindhub.todolist.dto.TaskPageResponseDTO;
 import com.mindhub.todolist.dto.TaskRequestDTO;
 import com.mindhub.todolist.dto.TaskResponseDTO;
+import com.mindhub.todolist.dto.TaskSummaryDTO;
+import com.mindhub.todolist.dto.VersionedResponseDTO;
 import com.mindhub.todolist.entity.Task;
 import com.mindhub.todolist.entity.TaskStatus;
+import com.mindhub.todolist.entity.UserEntity;
+import com.mindhub.todolist.exception.BadRequestException;
+import com.mindhub.todolist.exception.PreconditionFailedException;
 import com.mindhub.todolist.exception.ResourceNotFoundException;
 import com.mindhub.todolist.mapper.TaskMapper;
 import com.mindhub.todolist.repository.TaskRepository;
+import com.mindhub.todolist.repository.UserRepository;
+import com.mindhub.todolist.service.TaskChangedEvent;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
+import java.sql.SQLException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 class TaskServiceImplTest {
@@ -25,12 +47,29 @@ class TaskServiceImplTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private UserRepository userRepository;
+
     @Mock
     private TaskMapper taskMapper;
 
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private TaskStatusCounters taskStatusCounters;
+
+    @Mock
+    private TaskChangeFeed taskChangeFeed;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TaskServiceImpl taskService;
 
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -40,11 +79,14 @@ class TaskServiceImplTest {
     void createTask_shouldSaveTaskAndReturnResponseDTO() {
         // Arrange
         TaskRequestDTO taskRequestDTO = new TaskRequestDTO(); // Initialize with appropriate values
+        taskRequestDTO.setUserId(1L);
+        UserEntity owner = new UserEntity();
         Task taskEntity = new Task(); // Initialize with appropriate values
         TaskResponseDTO taskResponseDTO = new TaskResponseDTO(); // Initialize with appropriate values
 
-        when(taskMapper.toEntity(taskRequestDTO)).thenReturn(taskEntity);
-        when(taskRepository.save(taskEntity)).thenReturn(taskEntity);
+        when(userRepository.getReferenceById(1L)).thenReturn(owner);
+        when(taskMapper.toEntity(taskRequestDTO, owner)).thenReturn(taskEntity);
+        when(taskRepository.saveAndFlush(taskEntity)).thenReturn(taskEntity);
         when(taskMapper.toResponseDto(taskEntity)).thenReturn(taskResponseDTO);
 
         // Act
@@ -52,28 +94,51 @@ class TaskServiceImplTest {
 
         // Assert
         assertEquals(taskResponseDTO, result);
-        verify(taskMapper).toEntity(taskRequestDTO);
-        verify(taskRepository).save(taskEntity);
+        verify(taskMapper).toEntity(taskRequestDTO, owner);
+        verify(taskRepository).saveAndFlush(taskEntity);
         verify(taskMapper).toResponseDto(taskEntity);
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void createTaskForUser_shouldThrowResourceNotFoundException_whenOwnerDoesNotExist() {
+        // Arrange
+        TaskRequestDTO taskRequestDTO = new TaskRequestDTO(); // Initialize with appropriate values
+        UserEntity owner = new UserEntity();
+        Task taskEntity = new Task(); // Initialize with appropriate values
+        ConstraintViolationException foreignKeyViolation = new ConstraintViolationException(
+                "FK violation", new SQLException("FK violation", "23503"), "insert into tasks", "fk_tasks_user");
+
+        when(userRepository.getReferenceById(99L)).thenReturn(owner);
+        when(taskMapper.toEntity(taskRequestDTO, owner)).thenReturn(taskEntity);
+        when(taskRepository.saveAndFlush(taskEntity)).thenThrow(new DataIntegrityViolationException("FK", foreignKeyViolation));
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> taskService.createTaskForUser(99L, taskRequestDTO));
+    }
+
+    @Test
+    void createTaskForUser_shouldThrowBadRequestException_whenOwnerIsMissing() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> taskService.createTaskForUser(null, new TaskRequestDTO()));
+        verifyNoInteractions(taskRepository);
     }
 
     @Test
     void getTaskById_shouldReturnTaskResponseDTO_whenTaskExists() {
         // Arrange
         Long taskId = 1L;
-        Task taskEntity = new Task(); // Initialize with appropriate values
         TaskResponseDTO taskResponseDTO = new TaskResponseDTO(); // Initialize with appropriate values
 
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(taskEntity));
-        when(taskMapper.toResponseDto(taskEntity)).thenReturn(taskResponseDTO);
+        when(taskRepository.findResponseById(taskId)).thenReturn(Optional.of(taskResponseDTO));
 
         // Act
         TaskResponseDTO result = taskService.getTaskById(taskId);
 
         // Assert
         assertEquals(taskResponseDTO, result);
-        verify(taskRepository).findById(taskId);
-        verify(taskMapper).toResponseDto(taskEntity);
+        verify(taskRepository).findResponseById(taskId);
+        verifyNoInteractions(taskMapper);
     }
 
     @Test
@@ -81,31 +146,11 @@ class TaskServiceImplTest {
         // Arrange
         Long taskId = 1L;
 
-        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+        when(taskRepository.findResponseById(taskId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> taskService.getTaskById(taskId));
-        verify(taskRepository).findById(taskId);
-    }
-
-    @Test
-    void getAllTasks_shouldReturnListOfTaskResponseDTO() {
-        // Arrange
-        Task taskEntity = new Task(); // Initialize with appropriate values
-        TaskResponseDTO taskResponseDTO = new TaskResponseDTO(); // Initialize with appropriate values
-        List<Task> taskList = Collections.singletonList(taskEntity);
-        List<TaskResponseDTO> taskResponseDTOList = Collections.singletonList(taskResponseDTO);
-
-        when(taskRepository.findAll()).thenReturn(taskList);
-        when(taskMapper.toResponseDto(taskEntity)).thenReturn(taskResponseDTO);
-
-        // Act
-        List<TaskResponseDTO> result = taskService.getAllTasks();
-
-        // Assert
-        assertEquals(taskResponseDTOList, result);
-        verify(taskRepository).findAll();
-        verify(taskMapper).toResponseDto(taskEntity);
+        verify(taskRepository).findResponseById(taskId);
     }
 
     @Test
@@ -118,7 +163,7 @@ class TaskServiceImplTest {
         TaskResponseDTO taskResponseDTO = new TaskResponseDTO(); // Initialize with appropriate values
 
         when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTask));
-        when(taskRepository.save(existingTask)).thenReturn(updatedTask);
+        when(taskRepository.saveAndFlush(existingTask)).thenReturn(updatedTask);
         when(taskMapper.toResponseDto(updatedTask)).thenReturn(taskResponseDTO);
 
         // Act
@@ -127,7 +172,7 @@ class TaskServiceImplTest {
         // Assert
         assertEquals(taskResponseDTO, result);
         verify(taskRepository).findById(taskId);
-        verify(taskRepository).save(existingTask);
+        verify(taskRepository).saveAndFlush(existingTask);
         verify(taskMapper).toResponseDto(updatedTask);
     }
 
@@ -144,18 +189,161 @@ class TaskServiceImplTest {
         verify(taskRepository).findById(taskId);
     }
 
+    @Test
+    void patchTask_shouldWriteOnlyPatchedFields() throws Exception {
+        // Arrange
+        Task task = new Task("Title", "Description", TaskStatus.PENDING, new UserEntity());
+        task.setVersion(3L);
+        TaskResponseDTO taskResponseDTO = new TaskResponseDTO();
+
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskMapper.toResponseDto(task)).thenReturn(taskResponseDTO);
+
+        // Act
+        VersionedResponseDTO<TaskResponseDTO> result = taskService.patchTask(
+                1L, 3L, objectMapper.readTree("{\"status\":\"COMPLETED\",\"description\":null}"));
+
+        // Assert
+        assertEquals(taskResponseDTO, result.getBody());
+        assertEquals("Title", task.getTitle());
+        assertNull(task.getDescription());
+        assertEquals(TaskStatus.COMPLETED, task.getStatus());
+        verify(taskRepository).flush();
+        verify(taskRepository, never()).save(any());
+    }
+
+    @Test
+    void patchTask_shouldSkipFlush_whenPatchChangesNothing() throws Exception {
+        // Arrange
+        Task task = new Task("Title", "Description", TaskStatus.PENDING, new UserEntity());
+        task.setVersion(3L);
+
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
+        // Act
+        VersionedResponseDTO<TaskResponseDTO> result = taskService.patchTask(
+                1L, null, objectMapper.readTree("{\"title\":\"Title\",\"status\":\"PENDING\"}"));
+
+        // Assert
+        assertEquals(3L, result.getVersion());
+        verify(taskRepository, never()).flush();
+    }
+
+    @Test
+    void patchTask_shouldThrowPreconditionFailedException_whenVersionIsStale() throws Exception {
+        // Arrange
+        Task task = new Task("Title", "Description", TaskStatus.PENDING, new UserEntity());
+        task.setVersion(4L);
+        JsonNode patch = objectMapper.readTree("{\"title\":\"Other\"}");
+
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class, () -> taskService.patchTask(1L, 3L, patch));
+        assertEquals("Title", task.getTitle());
+        verify(taskRepository, never()).flush();
+    }
+
+    @Test
+    void patchTask_shouldThrowBadRequestException_whenFieldIsNotPatchable() throws Exception {
+        // Arrange
+        JsonNode patch = objectMapper.readTree("{\"id\":5}");
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> taskService.patchTask(1L, null, patch));
+        verify(taskRepository, never()).findById(any());
+    }
+
+    @Test
+    void patchTaskForUser_shouldThrowResourceNotFoundException_whenTaskBelongsToAnotherUser() throws Exception {
+        // Arrange
+        JsonNode patch = objectMapper.readTree("{\"title\":\"Other\"}");
+
+        when(taskRepository.findByIdAndUserId(1L, 2L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> taskService.patchTaskForUser(2L, 1L, null, patch));
+        verify(taskRepository, never()).findById(any());
+        verify(taskRepository, never()).flush();
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void patchTaskForUser_shouldPatchTheCallersOwnTask() throws Exception {
+        // Arrange
+        Task task = new Task("Title", "Description", TaskStatus.PENDING, new UserEntity());
+        task.setVersion(3L);
+
+        when(taskRepository.findByIdAndUserId(1L, 2L)).thenReturn(Optional.of(task));
+
+        // Act
+        taskService.patchTaskForUser(2L, 1L, 3L, objectMapper.readTree("{\"title\":\"Other\"}"));
+
+        // Assert
+        assertEquals("Other", task.getTitle());
+        verify(taskRepository).flush();
+    }
+
+    @Test
+    void searchTasks_shouldKeepIndexRankingAndDropStaleHits() {
+        // Arrange
+        TaskResponseDTO first = new TaskResponseDTO(3L, "Groceries", null, TaskStatus.PENDING);
+        TaskResponseDTO second = new TaskResponseDTO(1L, "Call the grocer", null, TaskStatus.PENDING);
+
+        when(taskSearchIndex.search(7L, "groc", 50)).thenReturn(List.of(3L, 9L, 1L));
+        when(taskRepository.findResponsesByIdsAndUserId(List.of(3L, 9L, 1L), 7L)).thenReturn(List.of(second, first));
+
+        // Act
+        List<TaskResponseDTO> result = taskService.searchTasks(7L, "groc", null);
+
+        // Assert
+        assertEquals(List.of(first, second), result);
+    }
+
+    @Test
+    void searchTasks_shouldThrowBadRequestException_whenQueryIsBlank() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> taskService.searchTasks(7L, " ", null));
+        verifyNoInteractions(taskSearchIndex);
+    }
+
+    @Test
+    void getTaskSummary_shouldFillMissingStatusesAndTotal() {
+        // Arrange
+        when(taskStatusCounters.countsOf(7L)).thenReturn(Map.of(TaskStatus.PENDING, 2L, TaskStatus.COMPLETED, 5L));
+
+        // Act
+        TaskSummaryDTO result = taskService.getTaskSummary(7L);
+
+        // Assert
+        assertEquals(Map.of(TaskStatus.PENDING, 2L, TaskStatus.IN_PROGRESS, 0L, TaskStatus.COMPLETED, 5L), result.getCounts());
+        assertEquals(7L, result.getTotal());
+        verifyNoInteractions(taskRepository);
+    }
+
     @Test
     void deleteTask_shouldDeleteTask_whenTaskExists() {
         // Arrange
         Long taskId = 1L;
+        UserEntity owner = new UserEntity();
+        owner.setId(4L);
+        Task task = new Task();
+        task.setId(taskId);
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setUserEntity(owner);
 
-        when(taskRepository.existsById(taskId)).thenReturn(true);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
 
         // Act
         taskService.deleteTask(taskId);
 
         // Assert
-        verify(taskRepository).deleteById(taskId);
+        verify(taskRepository).delete(task);
+        ArgumentCaptor<TaskChangedEvent> event = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(TaskChangedEvent.Type.DELETED, event.getValue().type());
+        assertEquals(4L, event.getValue().userId());
+        assertEquals(TaskStatus.IN_PROGRESS, event.getValue().previousStatus());
     }
 
     @Test
@@ -163,30 +351,29 @@ class TaskServiceImplTest {
         // Arrange
         Long taskId = 1L;
 
-        when(taskRepository.existsById(taskId)).thenReturn(false);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> taskService.deleteTask(taskId));
-        verify(taskRepository).existsById(taskId);
+        verify(taskRepository, never()).delete(any(Task.class));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     void getTaskByTitle_shouldReturnTaskResponseDTO_whenTaskExists() {
         // Arrange
         String taskTitle = "Test Task";
-        Task taskEntity = new Task(); // Initialize with appropriate values
         TaskResponseDTO taskResponseDTO = new TaskResponseDTO(); // Initialize with appropriate values
 
-        when(taskRepository.findByTitle(taskTitle)).thenReturn(Optional.of(taskEntity));
-        when(taskMapper.toResponseDto(taskEntity)).thenReturn(taskResponseDTO);
+        when(taskRepository.findResponseByTitle(taskTitle)).thenReturn(Optional.of(taskResponseDTO));
 
         // Act
         TaskResponseDTO result = taskService.getTaskByTitle(taskTitle);
 
         // Assert
         assertEquals(taskResponseDTO, result);
-        verify(taskRepository).findByTitle(taskTitle);
-        verify(taskMapper).toResponseDto(taskEntity);
+        verify(taskRepository).findResponseByTitle(taskTitle);
+        verifyNoInteractions(taskMapper);
     }
 
     @Test
@@ -194,74 +381,135 @@ class TaskServiceImplTest {
         // Arrange
         String taskTitle = "Nonexistent Task";
 
-        when(taskRepository.findByTitle(taskTitle)).thenReturn(Optional.empty());
+        when(taskRepository.findResponseByTitle(taskTitle)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> taskService.getTaskByTitle(taskTitle));
-        verify(taskRepository).findByTitle(taskTitle);
+        verify(taskRepository).findResponseByTitle(taskTitle);
     }
 
     @Test
-    void getTasksByUserId_shouldReturnListOfTaskResponseDTO() {
+    void getTasksByUsername_withCursor_shouldReturnPageAndNextCursor() {
         // Arrange
-        Long userId = 1L;
-        Task taskEntity = new Task(); // Initialize with appropriate values
-        TaskResponseDTO taskResponseDTO = new TaskResponseDTO(); // Initialize with appropriate values
-        List<Task> taskList = Collections.singletonList(taskEntity);
-        List<TaskResponseDTO> taskResponseDTOList = Collections.singletonList(taskResponseDTO);
+        String username = "testuser";
+        TaskResponseDTO first = new TaskResponseDTO(1L, "Task 1", null, TaskStatus.PENDING);
+        TaskResponseDTO second = new TaskResponseDTO(2L, "Task 2", null, TaskStatus.PENDING);
+        TaskResponseDTO third = new TaskResponseDTO(3L, "Task 3", null, TaskStatus.PENDING);
 
-        when(taskRepository.findByUserEntityId(userId)).thenReturn(taskList);
-        when(taskMapper.toResponseDto(taskEntity)).thenReturn(taskResponseDTO);
+        when(taskRepository.findResponsePageByUsername(username, 0L, Limit.of(3)))
+                .thenReturn(List.of(first, second, third));
 
         // Act
-        List<TaskResponseDTO> result = taskService.getTasksByUserId(userId);
+        TaskPageResponseDTO page = taskService.getTasksByUsername(username, null, 2);
 
         // Assert
-        assertEquals(taskResponseDTOList, result);
-        verify(taskRepository).findByUserEntityId(userId);
-        verify(taskMapper).toResponseDto(taskEntity);
+        assertEquals(List.of(first, second), page.getItems());
+        assertNotNull(page.getNext());
+
+        // Act - follow the cursor
+        when(taskRepository.findResponsePageByUsername(username, 2L, Limit.of(3)))
+                .thenReturn(List.of(third));
+        TaskPageResponseDTO nextPage = taskService.getTasksByUsername(username, page.getNext(), 2);
+
+        // Assert
+        assertEquals(1, nextPage.getItems().size());
+        assertNull(nextPage.getNext());
     }
 
     @Test
-    void getTasksByUsername_shouldReturnListOfTaskResponseDTO() {
-        // Arrange
-        String username = "testuser";
-        Task taskEntity = new Task(); // Initialize with appropriate values
-        TaskResponseDTO taskResponseDTO = new TaskResponseDTO(); // Initialize with appropriate values
-        List<Task> taskList = Collections.singletonList(taskEntity);
-        List<TaskResponseDTO> taskResponseDTOList = Collections.singletonList(taskResponseDTO);
+    void getAllTasks_withInvalidCursor_shouldThrowBadRequestException() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> taskService.getAllTasks("not a cursor!", null));
+        verifyNoInteractions(taskRepository);
+    }
 
-        when(taskRepository.findByUserEntityUsername(username)).thenReturn(taskList);
-        when(taskMapper.toResponseDto(taskEntity)).thenReturn(taskResponseDTO);
+    @Test
+    void processTaskBatch_shouldApplyOperationsAndReportPerItemResults() {
+        // Arrange
+        TaskRequestDTO createRequest = new TaskRequestDTO("New", "Created in batch", TaskStatus.PENDING, 5L);
+        TaskRequestDTO updateRequest = new TaskRequestDTO("Updated", "Updated in batch", TaskStatus.COMPLETED, null);
+        Task existingTask = new Task();
+        existingTask.setId(1L);
+        Task taskToDelete = new Task();
+        taskToDelete.setId(2L);
+        Task newTask = new Task();
+        UserEntity owner = new UserEntity();
+        TaskResponseDTO taskResponseDTO = new TaskResponseDTO();
+
+        List<TaskOperationDTO> operations = List.of(
+                new TaskOperationDTO(TaskOperationType.CREATE, null, createRequest),
+                new TaskOperationDTO(TaskOperationType.UPDATE, 1L, updateRequest),
+                new TaskOperationDTO(TaskOperationType.DELETE, 2L, null),
+                new TaskOperationDTO(TaskOperationType.DELETE, 3L, null));
+
+        when(taskRepository.findAllById(Set.of(1L, 2L, 3L))).thenReturn(List.of(existingTask, taskToDelete));
+        when(userRepository.findExistingIds(Set.of(5L))).thenReturn(Set.of(5L));
+        when(userRepository.getReferenceById(5L)).thenReturn(owner);
+        when(taskMapper.toEntity(createRequest, owner)).thenReturn(newTask);
+        when(taskRepository.save(newTask)).thenReturn(newTask);
+        when(taskMapper.toResponseDto(any(Task.class))).thenReturn(taskResponseDTO);
 
         // Act
-        List<TaskResponseDTO> result = taskService.getTasksByUsername(username);
+        List<TaskOperationResultDTO> results = taskService.processTaskBatch(operations);
 
         // Assert
-        assertEquals(taskResponseDTOList, result);
-        verify(taskRepository).findByUserEntityUsername(username);
-        verify(taskMapper).toResponseDto(taskEntity);
+        assertEquals(List.of(201, 200, 204, 404), results.stream().map(TaskOperationResultDTO::getStatus).toList());
+        assertEquals("Updated", existingTask.getTitle());
+        assertEquals(TaskStatus.COMPLETED, existingTask.getStatus());
+        verify(taskRepository).delete(taskToDelete);
+        verify(taskRepository).flush();
+        verify(userRepository, never()).findById(any());
     }
 
     @Test
-    void getTasksByUsernameAndStatus_shouldReturnListOfTaskResponseDTO() {
+    void processTaskBatchForUser_shouldCreateForTheCallerAndHideOtherUsersTasks() {
         // Arrange
-        String username = "testuser";
-        TaskStatus status = TaskStatus.PENDING;
-        Task taskEntity = new Task(); // Initialize with appropriate values
-        TaskResponseDTO taskResponseDTO = new TaskResponseDTO(); // Initialize with appropriate values
-        List<Task> taskList = Collections.singletonList(taskEntity);
-        List<TaskResponseDTO> taskResponseDTOList = Collections.singletonList(taskResponseDTO);
-
-        when(taskRepository.findByUserEntityUsernameAndStatus(username, status)).thenReturn(taskList);
-        when(taskMapper.toResponseDto(taskEntity)).thenReturn(taskResponseDTO);
+        TaskRequestDTO createRequest = new TaskRequestDTO("New", "Created in batch", TaskStatus.PENDING, 9L);
+        TaskRequestDTO updateRequest = new TaskRequestDTO("Updated", "Updated in batch", TaskStatus.COMPLETED, null);
+        UserEntity caller = new UserEntity();
+        caller.setId(5L);
+        UserEntity otherUser = new UserEntity();
+        otherUser.setId(9L);
+        Task ownTask = new Task();
+        ownTask.setId(1L);
+        ownTask.setUserEntity(caller);
+        Task foreignTask = new Task();
+        foreignTask.setId(2L);
+        foreignTask.setTitle("Not yours");
+        foreignTask.setUserEntity(otherUser);
+        Task newTask = new Task();
+
+        List<TaskOperationDTO> operations = List.of(
+                new TaskOperationDTO(TaskOperationType.CREATE, null, createRequest),
+                new TaskOperationDTO(TaskOperationType.UPDATE, 1L, updateRequest),
+                new TaskOperationDTO(TaskOperationType.UPDATE, 2L, updateRequest),
+                new TaskOperationDTO(TaskOperationType.DELETE, 2L, null));
+
+        when(taskRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(ownTask, foreignTask));
+        when(userRepository.findExistingIds(Set.of(5L))).thenReturn(Set.of(5L));
+        when(userRepository.getReferenceById(5L)).thenReturn(caller);
+        when(taskMapper.toEntity(createRequest, caller)).thenReturn(newTask);
+        when(taskRepository.save(newTask)).thenReturn(newTask);
+        when(taskMapper.toResponseDto(any(Task.class))).thenReturn(new TaskResponseDTO());
 
         // Act
-        List<TaskResponseDTO> result = taskService.getTasksByUsernameAndStatus(username, status);
+        List<TaskOperationResultDTO> results = taskService.processTaskBatchForUser(5L, operations);
 
         // Assert
-        assertEquals(taskResponseDTOList, result);
-        verify(taskRepository).findByUserEntityUsernameAndStatus(username, status);
-        verify(taskMapper).toResponseDto(taskEntity);
+        assertEquals(List.of(201, 200, 404, 404), results.stream().map(TaskOperationResultDTO::getStatus).toList());
+        assertEquals("Updated", ownTask.getTitle());
+        assertEquals("Not yours", foreignTask.getTitle());
+        verify(userRepository, never()).getReferenceById(9L);
+        verify(taskRepository, never()).delete(any());
+    }
+
+    @Test
+    void processTaskBatch_shouldThrowBadRequestException_whenBatchIsTooLarge() {
+        // Arrange
+        List<TaskOperationDTO> operations = Collections.nCopies(1001, new TaskOperationDTO(TaskOperationType.DELETE, 1L, null));
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> taskService.processTaskBatch(operations));
+        verifyNoInteractions(taskRepository);
     }
-}
\ No newline at end of file
+}
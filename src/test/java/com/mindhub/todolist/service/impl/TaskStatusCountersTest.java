@@ -0,0 +1,125 @@
+package com.mindhub.todolist.service.impl;
+
+import com.mindhub.todolist.dto.TaskStatusCountDTO;
+import com.mindhub.todolist.entity.Task;
+import com.mindhub.todolist.entity.TaskStatus;
+import com.mindhub.todolist.entity.UserEntity;
+import com.mindhub.todolist.repository.TaskRepository;
+import com.mindhub.todolist.service.TaskChangedEvent;
+import com.mindhub.todolist.service.UserDeletedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TaskStatusCountersTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TaskStatusCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        counters = new TaskStatusCounters(taskRepository, transactionManager, true);
+    }
+
+    @Test
+    void rebuild_shouldLoadGroupedCountsPerOwner() {
+        // Arrange
+        when(taskRepository.countByUserAndStatus()).thenReturn(List.of(
+                new TaskStatusCountDTO(7L, TaskStatus.PENDING, 3L),
+                new TaskStatusCountDTO(7L, TaskStatus.COMPLETED, 1L),
+                new TaskStatusCountDTO(8L, TaskStatus.IN_PROGRESS, 2L)));
+
+        // Act
+        counters.rebuild();
+
+        // Assert
+        assertEquals(Map.of(TaskStatus.PENDING, 3L, TaskStatus.IN_PROGRESS, 0L, TaskStatus.COMPLETED, 1L), counters.countsOf(7L));
+        assertEquals(Map.of(TaskStatus.PENDING, 0L, TaskStatus.IN_PROGRESS, 2L, TaskStatus.COMPLETED, 0L), counters.countsOf(8L));
+    }
+
+    @Test
+    void onTaskChanged_shouldFollowCreatesStatusChangesAndDeletes() {
+        // Arrange
+        Task task = task(1L, 7L, TaskStatus.PENDING);
+
+        // Act
+        counters.onTaskChanged(TaskChangedEvent.created(task));
+        counters.onTaskChanged(TaskChangedEvent.created(task(2L, 7L, TaskStatus.PENDING)));
+        task.setStatus(TaskStatus.COMPLETED);
+        counters.onTaskChanged(TaskChangedEvent.updated(task, TaskStatus.PENDING));
+        counters.onTaskChanged(TaskChangedEvent.deleted(task, TaskStatus.COMPLETED));
+
+        // Assert
+        assertEquals(Map.of(TaskStatus.PENDING, 1L, TaskStatus.IN_PROGRESS, 0L, TaskStatus.COMPLETED, 0L), counters.countsOf(7L));
+    }
+
+    @Test
+    void onUserDeleted_shouldDropTheOwnerFromCountsAndGauges() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        counters.bindTo(registry);
+        counters.move(7L, null, TaskStatus.PENDING);
+        counters.move(7L, null, TaskStatus.PENDING);
+        counters.move(8L, null, TaskStatus.PENDING);
+
+        // Act
+        counters.onUserDeleted(new UserDeletedEvent(7L));
+
+        // Assert
+        assertEquals(0L, counters.countsOf(7L).get(TaskStatus.PENDING));
+        assertEquals(1.0, registry.get("tasks.status.count").tag("status", "PENDING").gauge().value());
+    }
+
+    @Test
+    void move_shouldIgnoreUnchangedAndMissingStatuses() {
+        // Act
+        counters.move(7L, TaskStatus.PENDING, TaskStatus.PENDING);
+        counters.move(7L, null, TaskStatus.IN_PROGRESS);
+        counters.move(7L, TaskStatus.IN_PROGRESS, null);
+        counters.move(null, null, TaskStatus.PENDING);
+
+        // Assert
+        assertEquals(Map.of(TaskStatus.PENDING, 0L, TaskStatus.IN_PROGRESS, 0L, TaskStatus.COMPLETED, 0L), counters.countsOf(7L));
+    }
+
+    @Test
+    void countsOf_shouldQueryTheOwnerAndIgnoreEvents_whenNotInMemory() {
+        // Arrange
+        TaskStatusCounters fromDatabase = new TaskStatusCounters(taskRepository, transactionManager, false);
+        when(taskRepository.countByStatusForUser(7L)).thenReturn(List.of(new TaskStatusCountDTO(7L, TaskStatus.PENDING, 4L)));
+
+        // Act
+        fromDatabase.afterSingletonsInstantiated();
+        fromDatabase.onTaskChanged(TaskChangedEvent.created(task(1L, 7L, TaskStatus.COMPLETED)));
+        Map<TaskStatus, Long> counts = fromDatabase.countsOf(7L);
+
+        // Assert
+        assertEquals(Map.of(TaskStatus.PENDING, 4L, TaskStatus.IN_PROGRESS, 0L, TaskStatus.COMPLETED, 0L), counts);
+        verify(taskRepository, never()).countByUserAndStatus();
+    }
+
+    private static Task task(Long id, Long userId, TaskStatus status) {
+        UserEntity owner = new UserEntity();
+        owner.setId(userId);
+        Task task = new Task();
+        task.setId(id);
+        task.setUserEntity(owner);
+        task.setStatus(status);
+        return task;
+    }
+}
@@ -0,0 +1,96 @@
+package com.mindhub.todolist.service.impl;
+
+import com.mindhub.todolist.config.PrincipalCache;
+import com.mindhub.todolist.dto.UserRequestDTO;
+import com.mindhub.todolist.entity.UserEntity;
+import com.mindhub.todolist.mapper.UserMapper;
+import com.mindhub.todolist.repository.UserRepository;
+import com.mindhub.todolist.service.UserDeletedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+
+class UserServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private NdjsonExportWriter ndjsonExportWriter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private UserServiceImpl userService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void updateUser_shouldEvictThePrincipalOnlyAfterCommit() {
+        // Arrange
+        UserEntity existingUser = new UserEntity();
+        existingUser.setId(1L);
+        existingUser.setUsername("old");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
+        when(userRepository.save(existingUser)).thenReturn(existingUser);
+
+        // Act
+        userService.updateUser(1L, new UserRequestDTO("new", "new@email.com", "secret"));
+
+        // Assert
+        verify(principalCache, never()).evict(any());
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        verify(principalCache).evict("old");
+    }
+
+    @Test
+    void deleteUser_shouldNotEvictWhenTheTransactionRollsBack() {
+        // Arrange
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        // Act
+        userService.deleteUser(1L);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Assert
+        verify(userRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(new UserDeletedEvent(1L));
+        verifyNoInteractions(principalCache);
+    }
+
+    // Plays the end of the transaction the way the transaction manager would
+    private static void complete(int status) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronization.afterCommit();
+            }
+            synchronization.afterCompletion(status);
+        }
+    }
+}